@@ -0,0 +1,77 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Bulk-loads a synthetic data set into an empty ShareIt database for capacity planning.
+ *
+ * <p>The schema is created by the server's Flyway migrations. The size of the data set is described by
+ * {@link DataSetShape}: item owners, bookings and comments are drawn from Zipf distributions whose exponents are set by
+ * {@code generate.owner-skew}, {@code generate.booking-skew} and {@code generate.comment-skew}, so a few owners hold
+ * thousands of items and a few items collect most of the bookings and long comment threads. An exponent of {@code 0}
+ * spreads rows uniformly.
+ */
+public class DataGenerator {
+
+    private final String url = System.getProperty("generate.url", "jdbc:postgresql://localhost:6541/shareit");
+    private final String username = System.getProperty("generate.username", "admin");
+    private final String password = System.getProperty("generate.password", "admin");
+    private final DataSetShape shape = new DataSetShape();
+
+    public static void main(String[] args) {
+        new DataGenerator().run();
+    }
+
+    private void run() {
+        try (ConfigurableApplicationContext context = ShareItServerContext.start(Map.of(
+                "spring.datasource.driverClassName", DatabaseDriver.fromJdbcUrl(url).getDriverClassName(),
+                "spring.datasource.url", url,
+                "spring.datasource.username", username,
+                "spring.datasource.password", password,
+                "shareit.item-search.engine", "sql"))) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            Integer existingUsers = jdbcTemplate.queryForObject("select count(*) from users", Integer.class);
+            if (existingUsers == null || existingUsers > 0) {
+                throw new IllegalStateException("Database " + url + " is not empty");
+            }
+            generate(jdbcTemplate);
+        }
+    }
+
+    private void generate(JdbcTemplate jdbcTemplate) {
+        SyntheticData data = new SyntheticData(jdbcTemplate, shape.seed);
+        LocalDateTime now = LocalDateTime.now();
+
+        step("users", shape.users, () -> data.insertUsers(shape.users));
+        ZipfSampler owners = shape.owners();
+        step("items", shape.items, () -> data.insertItems(shape.items, owners::next));
+        step("requests", shape.requests, () -> data.insertRequests(shape.requests, shape.users, now));
+        step("requested items", (long) shape.requests * shape.itemsPerRequest,
+                () -> data.insertRequestedItems(shape.requests, shape.itemsPerRequest, shape.users));
+
+        int[] bookingsPerItem = shape.bookedItems().histogram(shape.bookings);
+        step("bookings", shape.bookings, () -> data.insertBookings(bookingsPerItem, shape.users, now));
+        System.out.printf("busiest item has %d bookings%n", Arrays.stream(bookingsPerItem).max().orElse(0));
+
+        int[] commentsPerItem = shape.commentedItems().histogram(shape.comments);
+        step("comments", shape.comments, () -> data.insertComments(commentsPerItem, shape.users, now));
+        System.out.printf("longest comment thread has %d comments%n",
+                Arrays.stream(commentsPerItem).max().orElse(0));
+
+        System.out.printf("largest owner has %d items%n", jdbcTemplate.queryForObject(
+                "select count(*) from items group by owner_id order by count(*) desc limit 1", Integer.class));
+    }
+
+    private static void step(String name, long rows, Runnable insert) {
+        long started = System.nanoTime();
+        insert.run();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("%-16s %,12d rows %8.1f s %,10.0f rows/s%n", name, rows, seconds, rows / seconds);
+    }
+}
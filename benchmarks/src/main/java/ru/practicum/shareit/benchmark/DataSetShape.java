@@ -0,0 +1,39 @@
+package ru.practicum.shareit.benchmark;
+
+import java.util.Random;
+
+/**
+ * Size and skew of the data set built by {@link DataGenerator}, read from {@code generate.*} system properties.
+ *
+ * <p>Every sampler is built from its own seed, so {@link ShareItLoadTest} started with the same properties finds
+ * the same popular owners and items as the generator did.
+ */
+public class DataSetShape {
+
+    final long seed = Long.getLong("generate.seed", 42);
+    final int users = Integer.getInteger("generate.users", 100_000);
+    final int items = Integer.getInteger("generate.items", 1_000_000);
+    final int requests = Integer.getInteger("generate.requests", 50_000);
+    final int itemsPerRequest = Integer.getInteger("generate.items-per-request", 2);
+    final long bookings = Long.getLong("generate.bookings", 5_000_000);
+    final long comments = Long.getLong("generate.comments", 1_000_000);
+    final double ownerSkew = Double.parseDouble(System.getProperty("generate.owner-skew", "1.1"));
+    final double bookingSkew = Double.parseDouble(System.getProperty("generate.booking-skew", "1.0"));
+    final double commentSkew = Double.parseDouble(System.getProperty("generate.comment-skew", "1.2"));
+
+    int allItems() {
+        return items + requests * itemsPerRequest;
+    }
+
+    ZipfSampler owners() {
+        return new ZipfSampler(users, ownerSkew, new Random(seed + 1));
+    }
+
+    ZipfSampler bookedItems() {
+        return new ZipfSampler(allItems(), bookingSkew, new Random(seed + 2));
+    }
+
+    ZipfSampler commentedItems() {
+        return new ZipfSampler(allItems(), commentSkew, new Random(seed + 3));
+    }
+}
@@ -0,0 +1,206 @@
+package ru.practicum.shareit.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the blocking and reactive gateway modes under a closed-loop load.
+ *
+ * <p>The gateway jar is started once per mode, pinned to {@code load.cores} processors, in front of a stub
+ * ShareIt server that answers every request after {@code load.latency} milliseconds. For every concurrency level
+ * the report shows the throughput, latency percentiles and the number of requests the gateway kept in flight per
+ * core (throughput multiplied by mean latency, divided by the number of cores).
+ */
+public class GatewayLoadTest {
+
+    private static final String[] MODES = {"blocking", "reactive"};
+    private static final byte[] USER_JSON = "{\"id\":1,\"name\":\"Влад\",\"email\":\"vlad@yandex.ru\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final String gatewayJar = System.getProperty("gateway.jar", "../gateway/target/gateway-0.0.1-SNAPSHOT.jar");
+    private final int cores = Integer.getInteger("load.cores", 1);
+    private final int latencyMillis = Integer.getInteger("load.latency", 100);
+    private final int durationSeconds = Integer.getInteger("load.duration", 10);
+    private final int gatewayPort = Integer.getInteger("load.port", 18080);
+    private final int[] concurrencyLevels = Arrays.stream(System.getProperty("load.concurrency", "50,200,800")
+            .split(",")).mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+
+    public static void main(String[] args) throws Exception {
+        new GatewayLoadTest().run();
+    }
+
+    private void run() throws Exception {
+        ScheduledExecutorService delays = Executors.newScheduledThreadPool(4);
+        HttpServer stubServer = startStubServer(delays);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(8))
+                .build();
+        try {
+            System.out.printf("%-9s %11s %10s %9s %9s %7s %15s%n",
+                    "mode", "concurrency", "req/s", "p50 ms", "p99 ms", "errors", "in-flight/core");
+            for (String mode : MODES) {
+                Process gateway = startGateway(mode, stubServer.getAddress().getPort());
+                try {
+                    awaitStartup(client);
+                    runLevel(client, concurrencyLevels[0], Math.min(durationSeconds, 3));
+                    for (int concurrency : concurrencyLevels) {
+                        print(mode, concurrency, runLevel(client, concurrency, durationSeconds));
+                    }
+                } finally {
+                    gateway.destroy();
+                    gateway.waitFor(30, TimeUnit.SECONDS);
+                }
+            }
+        } finally {
+            stubServer.stop(0);
+            delays.shutdownNow();
+            System.exit(0);
+        }
+    }
+
+    private HttpServer startStubServer(ScheduledExecutorService delays) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        server.createContext("/", exchange -> delays.schedule(() -> respond(exchange), latencyMillis,
+                TimeUnit.MILLISECONDS));
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange) {
+        try (exchange; OutputStream body = exchange.getResponseBody()) {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, USER_JSON.length);
+            body.write(USER_JSON);
+        } catch (IOException ignored) {
+            // the gateway gave up on this request
+        }
+    }
+
+    private Process startGateway(String mode, int stubPort) throws IOException {
+        List<String> command = new ArrayList<>();
+        if (new File("/usr/bin/taskset").canExecute()) {
+            command.addAll(List.of("/usr/bin/taskset", "-c", "0-" + (cores - 1)));
+        }
+        command.addAll(List.of("java", "-XX:ActiveProcessorCount=" + cores, "-Xmx512m", "-jar", gatewayJar,
+                "--server.port=" + gatewayPort,
+                "--shareit-server.url=http://localhost:" + stubPort,
+                "--shareit-server.client-mode=" + mode,
+                "--shareit-server.http-client.max-total=4096",
+                "--shareit-server.http-client.max-per-route=4096",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN"));
+        return new ProcessBuilder(command).inheritIO().start();
+    }
+
+    private void awaitStartup(HttpClient client) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + gatewayPort + "/actuator/health"))
+                .build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Gateway did not start on port " + gatewayPort);
+    }
+
+    private Result runLevel(HttpClient client, int concurrency, int seconds) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + gatewayPort + "/users/1"))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+
+        long started = System.nanoTime();
+        CompletableFuture<?>[] users = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            users[i] = loop(client, request, deadline, latencies, errors);
+        }
+        CompletableFuture.allOf(users).join();
+        long elapsed = System.nanoTime() - started;
+
+        return new Result(latencies.stream().mapToLong(Long::longValue).sorted().toArray(), errors.get(), elapsed);
+    }
+
+    private static CompletableFuture<Void> loop(HttpClient client, HttpRequest request, long deadline,
+                                                ConcurrentLinkedQueue<Long> latencies, AtomicLong errors) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        sendNext(client, request, deadline, latencies, errors, done);
+        return done;
+    }
+
+    private static void sendNext(HttpClient client, HttpRequest request, long deadline,
+                                 ConcurrentLinkedQueue<Long> latencies, AtomicLong errors, CompletableFuture<Void> done) {
+        if (System.nanoTime() >= deadline) {
+            done.complete(null);
+            return;
+        }
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error == null && response.statusCode() == 200) {
+                        latencies.add(System.nanoTime() - sent);
+                    } else {
+                        errors.incrementAndGet();
+                    }
+                    sendNext(client, request, deadline, latencies, errors, done);
+                });
+    }
+
+    private void print(String mode, int concurrency, Result result) {
+        double seconds = result.elapsedNanos / 1e9;
+        double throughput = result.latencies.length / seconds;
+        double meanLatencySeconds = Arrays.stream(result.latencies).average().orElse(0) / 1e9;
+        System.out.printf("%-9s %11d %10.0f %9.1f %9.1f %7d %15.0f%n", mode, concurrency, throughput,
+                result.percentile(0.5), result.percentile(0.99), result.errors,
+                throughput * meanLatencySeconds / cores);
+    }
+
+    private static class Result {
+        private final long[] latencies;
+        private final long errors;
+        private final long elapsedNanos;
+
+        private Result(long[] latencies, long errors, long elapsedNanos) {
+            this.latencies = latencies;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        private double percentile(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            return latencies[(int) Math.min(latencies.length - 1, latencies.length * percentile)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.dto.ItemWithBookingAndCommentsDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ItemListBenchmark {
+
+    private static final long OWNER_ID = 1;
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"100", "5000"})
+    private int bookingsPerItem;
+
+    @Param({"0", "20"})
+    private int commentsPerItem;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ShareItServerContext.start(Map.of());
+
+        SyntheticData data = new SyntheticData(context.getBean(JdbcTemplate.class), 42);
+        int users = 100;
+        data.insertUsers(users);
+        data.insertOwnedItems(PAGE_SIZE, OWNER_ID);
+        LocalDateTime now = LocalDateTime.now();
+        for (long itemId = 1; itemId <= PAGE_SIZE; itemId++) {
+            data.insertBookings(itemId, bookingsPerItem, users, now);
+            data.insertComments(itemId, commentsPerItem, users, now);
+        }
+
+        itemService = context.getBean(ItemService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemWithBookingAndCommentsDto> findItemsByUser() {
+        return itemService.findItemsByUser(OWNER_ID, 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingResponseForItemDto;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingAndCommentsDto;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class ItemListSerializationBenchmark {
+
+    @Param({"json", "smile"})
+    private String format;
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    @Param({"0", "20"})
+    private int commentsPerItem;
+
+    private ObjectMapper objectMapper;
+    private List<ItemWithBookingAndCommentsDto> page;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory("smile".equals(format) ? new SmileFactory() : new JsonFactory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        page = createPage(pageSize, commentsPerItem);
+        System.out.printf("%n%s page of %d items with %d comments each: %d bytes%n", format, pageSize,
+                commentsPerItem, objectMapper.writeValueAsBytes(page).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private static List<ItemWithBookingAndCommentsDto> createPage(int size, int commentsPerItem) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 0, 0);
+        List<ItemWithBookingAndCommentsDto> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            List<CommentDto> comments = new ArrayList<>(commentsPerItem);
+            for (int j = 0; j < commentsPerItem; j++) {
+                comments.add(new CommentDto(random.nextInt(1_000_000), "Отличная дрель, спасибо " + j,
+                        "user" + random.nextInt(100_000), now.minusHours(random.nextInt(10_000))));
+            }
+            items.add(new ItemWithBookingAndCommentsDto(
+                    random.nextInt(1_000_000),
+                    "Аккумуляторная дрель " + i,
+                    "Почти не использовалась, полный комплект",
+                    random.nextBoolean(),
+                    random.nextBoolean()
+                            ? new BookingResponseForItemDto(random.nextInt(1_000_000), random.nextInt(100_000))
+                            : null,
+                    new BookingResponseForItemDto(random.nextInt(1_000_000), random.nextInt(100_000)),
+                    comments));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.request.dto.ItemResponseDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ItemRequestListBenchmark {
+
+    private static final int USERS = 1000;
+    private static final long VIEWER_ID = USERS + 1;
+
+    @Param({"10000"})
+    private int requests;
+
+    @Param({"0", "5"})
+    private int itemsPerRequest;
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemRequestService itemRequestService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ShareItServerContext.start(Map.of());
+
+        SyntheticData data = new SyntheticData(context.getBean(JdbcTemplate.class), 42);
+        data.insertUsers(USERS + 1);
+        data.insertRequests(requests, USERS, LocalDateTime.now());
+        data.insertRequestedItems(requests, itemsPerRequest, USERS);
+
+        itemRequestService = context.getBean(ItemRequestService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> firstPage() {
+        return itemRequestService.findAllRequests(VIEWER_ID, 0, pageSize);
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> deepPage() {
+        return itemRequestService.findAllRequests(VIEWER_ID, requests / 2, pageSize);
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ItemSearchBenchmark {
+
+    @Param({"1000000"})
+    private int items;
+
+    @Param({"index", "sql"})
+    private String engine;
+
+    @Param({"шуруповерт", "ключ", "аккумуляторная дрель", "др"})
+    private String text;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = ShareItServerContext.start(Map.of("shareit.item-search.engine", engine));
+
+        SyntheticData data = new SyntheticData(context.getBean(JdbcTemplate.class), 42);
+        int users = Math.max(1, items / 100);
+        data.insertUsers(users);
+        data.insertItems(items, users);
+
+        context.getBean(ItemSearchEngine.class).rebuild();
+        itemService = context.getBean(ItemService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> firstPage() {
+        return itemService.searchItems(text, 0, 10);
+    }
+
+    @Benchmark
+    public List<ItemDto> deepPage() {
+        return itemService.searchItems(text, 1000, 10);
+    }
+}
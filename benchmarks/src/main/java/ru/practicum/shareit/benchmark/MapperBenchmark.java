@@ -0,0 +1,116 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingAndCommentsDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class MapperBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private List<Booking> bookings;
+    private List<Item> items;
+    private List<Comment> comments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2030, 1, 1, 0, 0);
+        BookingStatus[] statuses = BookingStatus.values();
+        bookings = new ArrayList<>(pageSize);
+        items = new ArrayList<>(pageSize);
+        comments = new ArrayList<>(pageSize);
+
+        for (int i = 0; i < pageSize; i++) {
+            User user = createUser(random.nextInt(100_000));
+
+            ItemRequest itemRequest = null;
+            if (random.nextBoolean()) {
+                itemRequest = new ItemRequest();
+                itemRequest.setId((long) random.nextInt(1_000_000));
+                itemRequest.setDescription("Нужна дрель");
+                itemRequest.setRequester(user);
+                itemRequest.setCreated(now);
+            }
+
+            Item item = new Item();
+            item.setId((long) random.nextInt(1_000_000));
+            item.setName("Аккумуляторная дрель " + i);
+            item.setDescription("Почти не использовалась, полный комплект");
+            item.setAvailable(random.nextBoolean());
+            item.setOwner(createUser(random.nextInt(100_000)));
+            item.setRequest(itemRequest);
+            items.add(item);
+
+            Booking booking = new Booking();
+            booking.setId((long) random.nextInt(1_000_000));
+            booking.setStart(now.plusHours(random.nextInt(10_000)));
+            booking.setEnd(booking.getStart().plusHours(1 + random.nextInt(72)));
+            booking.setStatus(statuses[random.nextInt(statuses.length)]);
+            booking.setBooker(user);
+            booking.setItem(item);
+            bookings.add(booking);
+
+            Comment comment = new Comment();
+            comment.setId((long) random.nextInt(1_000_000));
+            comment.setText("Отличная дрель, спасибо");
+            comment.setAuthor(user);
+            comment.setItem(item);
+            comment.setCreated(now.minusHours(random.nextInt(10_000)));
+            comments.add(comment);
+        }
+    }
+
+    @Benchmark
+    public List<BookingResponseDto> toBookingDto() {
+        return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ItemDto> toItemDto() {
+        return items.stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ItemWithBookingAndCommentsDto> itemWithBookingAndCommentsDto() {
+        return items.stream().map(ItemMapper::itemWithBookingAndCommentsDto).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<CommentDto> toCommentDto() {
+        return comments.stream().map(CommentMapper::toCommentDto).collect(Collectors.toList());
+    }
+
+    private static User createUser(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("user" + id);
+        user.setEmail("user" + id + "@shareit.ru");
+        return user;
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Compares the default configuration with the {@code prod} profile: JDBC batching for a transaction that updates a
+ * page of bookings, and the per-call overhead of transaction logging on a single read. Log output goes to
+ * {@code target/persistence-profile-benchmark.log} so the default profile pays for its TRACE logging as it would in
+ * production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PersistenceProfileBenchmark {
+
+    private static final long OWNER_ID = 1;
+    private static final int ITEMS = 10;
+    private static final int BOOKINGS_PER_ITEM = 10;
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private BookingRepository bookingRepository;
+    private TransactionTemplate transactionTemplate;
+    private List<Long> bookingIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean prod = "prod".equals(profile);
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.profiles.active", profile);
+        properties.put("logging.config", "classpath:logback-file-only.xml");
+        properties.put("logging.file.name", "target/persistence-profile-benchmark.log");
+        properties.put("logging.level.org.springframework.transaction.interceptor", prod ? "INFO" : "TRACE");
+        properties.put("logging.level.org.springframework.orm.jpa.JpaTransactionManager", prod ? "INFO" : "DEBUG");
+        context = ShareItServerContext.start(properties);
+
+        SyntheticData data = new SyntheticData(context.getBean(JdbcTemplate.class), 42);
+        data.insertUsers(100);
+        data.insertOwnedItems(ITEMS, OWNER_ID);
+        LocalDateTime now = LocalDateTime.now();
+        for (long itemId = 1; itemId <= ITEMS; itemId++) {
+            data.insertBookings(itemId, BOOKINGS_PER_ITEM, 100, now);
+        }
+
+        bookingService = context.getBean(BookingService.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        bookingIds = LongStream.rangeClosed(1, (long) ITEMS * BOOKINGS_PER_ITEM).boxed()
+                .collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int updateBookingPage() {
+        return transactionTemplate.execute(status -> {
+            List<Booking> bookings = bookingRepository.findAllById(bookingIds);
+            for (Booking booking : bookings) {
+                booking.setStatus(booking.getStatus() == BookingStatus.APPROVED
+                        ? BookingStatus.REJECTED
+                        : BookingStatus.APPROVED);
+            }
+            return bookings.size();
+        });
+    }
+
+    @Benchmark
+    public BookingResponseDto findBookingById() {
+        return bookingService.findBookingById(OWNER_ID, 1);
+    }
+}
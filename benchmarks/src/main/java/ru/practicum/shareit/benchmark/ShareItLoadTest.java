@@ -0,0 +1,271 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Replays a weighted mix of gateway calls against a running ShareIt stack loaded by {@link DataGenerator} and
+ * reports throughput and latency percentiles per endpoint.
+ *
+ * <p>{@code load.concurrency} virtual users run the scenarios of {@code load.mix} in a closed loop for
+ * {@code load.duration} seconds after a {@code load.warmup}. Item pages and owner booking lists pick items and owners
+ * with the skew of the generated data set, so the load is as uneven as the data. Bookings are created by random users
+ * for items of an owner the test creates for itself, and approved by that owner right away.
+ */
+public class ShareItLoadTest {
+
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final String[] SEARCH_TEXTS = {
+            "дрель", "палатка", "велосипед", "аккумуляторная", "лодка надувная", "гитара", "ключ гаечный", "пила"
+    };
+
+    private final String gatewayUrl = System.getProperty("load.url", "http://localhost:8080");
+    private final int concurrency = Integer.getInteger("load.concurrency", 50);
+    private final int warmupSeconds = Integer.getInteger("load.warmup", 10);
+    private final int durationSeconds = Integer.getInteger("load.duration", 60);
+    private final int bookableItems = Integer.getInteger("load.bookable-items", 100);
+    private final String mix = System.getProperty("load.mix",
+            "search:25,item:25,owner-items:10,bookings:15,owner-bookings:15,book:10");
+    private final DataSetShape shape = new DataSetShape();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Stats> stats = new LinkedHashMap<>();
+    private final AtomicLong bookingSlots = new AtomicLong();
+    private final LocalDateTime bookingsFrom = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    private HttpClient client;
+    private ZipfSampler owners;
+    private ZipfSampler items;
+    private long bookingOwnerId;
+    private long[] bookableItemIds;
+    private List<Supplier<CompletableFuture<?>>> scenarios;
+    private long measureFrom;
+
+    public static void main(String[] args) throws Exception {
+        new ShareItLoadTest().run();
+    }
+
+    private void run() throws Exception {
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+        owners = shape.owners();
+        items = shape.bookedItems();
+        for (String endpoint : List.of("GET /items/search", "GET /items/{id}", "GET /items", "GET /bookings",
+                "GET /bookings/owner", "POST /bookings", "PATCH /bookings/{id}")) {
+            stats.put(endpoint, new Stats());
+        }
+        scenarios = parseMix();
+        createBookableItems();
+
+        long started = System.nanoTime();
+        measureFrom = started + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        CompletableFuture<?>[] users = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            runNext(deadline, done);
+            users[i] = done;
+        }
+        CompletableFuture.allOf(users).join();
+
+        print((System.nanoTime() - measureFrom) / 1e9);
+        System.exit(0);
+    }
+
+    private List<Supplier<CompletableFuture<?>>> parseMix() {
+        Map<String, Supplier<CompletableFuture<?>>> available = Map.of(
+                "search", this::search,
+                "item", this::itemPage,
+                "owner-items", this::ownerItems,
+                "bookings", this::bookerBookings,
+                "owner-bookings", this::ownerBookings,
+                "book", this::bookAndApprove);
+        List<Supplier<CompletableFuture<?>>> weighted = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] scenario = entry.trim().split(":");
+            if (!available.containsKey(scenario[0])) {
+                throw new IllegalArgumentException("Unknown scenario " + scenario[0] + ", expected one of "
+                        + available.keySet());
+            }
+            for (int i = 0; i < Integer.parseInt(scenario[1]); i++) {
+                weighted.add(available.get(scenario[0]));
+            }
+        }
+        return weighted;
+    }
+
+    private void createBookableItems() throws IOException, InterruptedException {
+        String email = "load-test-" + System.currentTimeMillis() + "@shareit.ru";
+        String user = "{\"name\":\"Нагрузочный тест\",\"email\":\"" + email + "\"}";
+        bookingOwnerId = idOf(client.send(post("/users", 0, user), HttpResponse.BodyHandlers.ofString()));
+        bookableItemIds = new long[bookableItems];
+        for (int i = 0; i < bookableItems; i++) {
+            String item = "{\"name\":\"Дрель " + i + "\",\"description\":\"Для нагрузочного теста\",\"available\":true}";
+            bookableItemIds[i] = idOf(client.send(post("/items", bookingOwnerId, item),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+    }
+
+    private void runNext(long deadline, CompletableFuture<Void> done) {
+        if (System.nanoTime() >= deadline) {
+            done.complete(null);
+            return;
+        }
+        scenarios.get(ThreadLocalRandom.current().nextInt(scenarios.size())).get()
+                .whenComplete((result, error) -> runNext(deadline, done));
+    }
+
+    private CompletableFuture<?> search() {
+        String text = SEARCH_TEXTS[ThreadLocalRandom.current().nextInt(SEARCH_TEXTS.length)];
+        return send("GET /items/search", get("/items/search?text=" + URLEncoder.encode(text, StandardCharsets.UTF_8),
+                randomUser()));
+    }
+
+    private CompletableFuture<?> itemPage() {
+        return send("GET /items/{id}", get("/items/" + items.next(), randomUser()));
+    }
+
+    private CompletableFuture<?> ownerItems() {
+        return send("GET /items", get("/items", owners.next()));
+    }
+
+    private CompletableFuture<?> bookerBookings() {
+        return send("GET /bookings", get("/bookings?state=" + randomState(), randomUser()));
+    }
+
+    private CompletableFuture<?> ownerBookings() {
+        return send("GET /bookings/owner", get("/bookings/owner?state=" + randomState(), owners.next()));
+    }
+
+    private CompletableFuture<?> bookAndApprove() {
+        long itemId = bookableItemIds[ThreadLocalRandom.current().nextInt(bookableItemIds.length)];
+        LocalDateTime start = bookingsFrom.plusHours(2 * bookingSlots.getAndIncrement());
+        String body = "{\"itemId\":" + itemId + ",\"start\":\"" + start + "\",\"end\":\"" + start.plusHours(1) + "\"}";
+        return send("POST /bookings", post("/bookings", randomUser(), body))
+                .thenCompose(response -> response.statusCode() == 200
+                        ? send("PATCH /bookings/{id}", approve(idOf(response)))
+                        : CompletableFuture.completedFuture(response));
+    }
+
+    private HttpRequest approve(long bookingId) {
+        return HttpRequest.newBuilder(uri("/bookings/" + bookingId + "?approved=true"))
+                .header("X-Sharer-User-Id", String.valueOf(bookingOwnerId))
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(String endpoint, HttpRequest request) {
+        long sent = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    if (sent >= measureFrom) {
+                        boolean success = error == null && response.statusCode() == 200;
+                        stats.get(endpoint).record(System.nanoTime() - sent, success);
+                    }
+                });
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private HttpRequest post(String path, long userId, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(gatewayUrl + path);
+    }
+
+    private long idOf(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(response.request().uri() + " answered " + response.statusCode() + ": "
+                    + response.body());
+        }
+        try {
+            return objectMapper.readTree(response.body()).get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected response from " + response.request().uri(), e);
+        }
+    }
+
+    private long randomUser() {
+        return 1 + ThreadLocalRandom.current().nextInt(shape.users);
+    }
+
+    private static String randomState() {
+        return STATES[ThreadLocalRandom.current().nextInt(STATES.length)];
+    }
+
+    private void print(double seconds) {
+        System.out.printf("%n%-22s %9s %9s %9s %9s %9s %9s %7s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        long total = 0;
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            long[] latencies = entry.getValue().sortedLatencies();
+            total += latencies.length;
+            System.out.printf("%-22s %9d %9.1f %9.1f %9.1f %9.1f %9.1f %7d%n", entry.getKey(), latencies.length,
+                    latencies.length / seconds, percentile(latencies, 0.5), percentile(latencies, 0.95),
+                    percentile(latencies, 0.99), percentile(latencies, 1), entry.getValue().errors.get());
+        }
+        System.out.printf("%-22s %9d %9.1f%n", "total", total, total / seconds);
+    }
+
+    private static double percentile(long[] latencies, double percentile) {
+        if (latencies.length == 0) {
+            return 0;
+        }
+        return latencies[(int) Math.min(latencies.length - 1, latencies.length * percentile)] / 1e6;
+    }
+
+    private static class Stats {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        private void record(long latency, boolean success) {
+            if (success) {
+                latencies.add(latency);
+            } else {
+                errors.incrementAndGet();
+            }
+        }
+
+        private long[] sortedLatencies() {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
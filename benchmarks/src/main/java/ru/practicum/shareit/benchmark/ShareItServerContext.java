@@ -0,0 +1,34 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class ShareItServerContext {
+
+    private ShareItServerContext() {
+    }
+
+    public static ConfigurableApplicationContext start(Map<String, Object> properties) {
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("spring.datasource.driverClassName", "org.h2.Driver");
+        arguments.put("spring.datasource.url", "jdbc:h2:mem:benchmark-" + UUID.randomUUID());
+        arguments.put("spring.datasource.username", "benchmark");
+        arguments.put("spring.datasource.password", "benchmark");
+        arguments.put("logging.level.root", "WARN");
+        arguments.put("logging.level.org.springframework.transaction.interceptor", "WARN");
+        arguments.put("logging.level.org.springframework.orm.jpa.JpaTransactionManager", "WARN");
+        arguments.putAll(properties);
+
+        return new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments.entrySet().stream()
+                        .map(argument -> "--" + argument.getKey() + "=" + argument.getValue())
+                        .toArray(String[]::new));
+    }
+}
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+public class SyntheticData {
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final String[] NAMES = {
+            "Дрель", "Шуруповерт", "Лодка", "Палатка", "Велосипед", "Самокат", "Шкаф", "Стол", "Стул", "Диван",
+            "Ключ", "Отвертка", "Перфоратор", "Лестница", "Проектор", "Камера", "Штатив", "Гитара", "Сноуборд",
+            "Лыжи", "Коньки", "Мангал", "Казан", "Пила", "Рубанок", "Болгарка", "Пылесос", "Утюг", "Чайник"
+    };
+    private static final String[] ADJECTIVES = {
+            "аккумуляторная", "электрический", "резиновая", "туристическая", "горный", "детский", "большой",
+            "складной", "деревянный", "старый", "новый", "гаечный", "крестовая", "ударный", "алюминиевая",
+            "мощный", "цифровая", "легкий", "профессиональный", "компактный", "надувная", "чугунный"
+    };
+    private static final String[] PHRASES = {
+            "в отличном состоянии", "почти не использовался", "есть небольшие царапины", "полный комплект",
+            "с зарядным устройством", "без батареек", "инструкция прилагается", "подходит для дачи",
+            "можно забрать в любое время", "бережное обращение обязательно"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+
+    public SyntheticData(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+    }
+
+    public void insertUsers(int count) {
+        insert("users", "user_id", "user_name, email", rows -> {
+            for (int i = 1; i <= count; i++) {
+                rows.accept(new Object[]{"user" + i, "user" + i + "@shareit.ru"});
+            }
+        });
+    }
+
+    public void insertItems(int count, int users) {
+        insertItems(count, () -> 1L + random.nextInt(users), () -> null);
+    }
+
+    public void insertItems(int count, LongSupplier owners) {
+        insertItems(count, owners::getAsLong, () -> null);
+    }
+
+    public void insertOwnedItems(int count, long ownerId) {
+        insertItems(count, () -> ownerId, () -> null);
+    }
+
+    public void insertRequests(int count, int users, LocalDateTime now) {
+        insert("requests", "request_id", "description, requester_id, created", rows -> {
+            for (int i = 1; i <= count; i++) {
+                rows.accept(new Object[]{"Нужен " + pick(NAMES).toLowerCase() + ", " + pick(PHRASES),
+                        1 + random.nextInt(users), now.minusMinutes(count - i)});
+            }
+        });
+    }
+
+    public void insertRequestedItems(int requests, int itemsPerRequest, int users) {
+        long[] row = {0};
+        insertItems(requests * itemsPerRequest, () -> 1L + random.nextInt(users),
+                () -> 1 + row[0]++ / itemsPerRequest);
+    }
+
+    public void insertBookings(long itemId, int count, int users, LocalDateTime now) {
+        insert("bookings", "booking_id", "start_date, end_date, item_id, booker_id, status", rows -> {
+            for (int i = 1; i <= count; i++) {
+                LocalDateTime start = now.minusDays(5 * 365).plusHours(random.nextInt(6 * 365 * 24));
+                LocalDateTime end = start.plusHours(1 + random.nextInt(72));
+                String status = random.nextInt(5) == 0 ? "REJECTED" : "APPROVED";
+                rows.accept(new Object[]{start, end, itemId, 1 + random.nextInt(users), status});
+            }
+        });
+    }
+
+    /**
+     * Inserts {@code bookingsPerItem[i]} bookings for the item with id {@code i + 1}. The bookings of an item do not
+     * overlap: they are spread over the five years before {@code now} and the year after it, so the more popular an
+     * item is, the shorter its bookings get.
+     */
+    public void insertBookings(int[] bookingsPerItem, int users, LocalDateTime now) {
+        LocalDateTime from = now.minusYears(5);
+        long window = Duration.between(from, now.plusYears(1)).getSeconds();
+        insert("bookings", "booking_id", "start_date, end_date, item_id, booker_id, status", rows -> {
+            for (int item = 0; item < bookingsPerItem.length; item++) {
+                int count = bookingsPerItem[item];
+                for (int i = 0; i < count; i++) {
+                    long slotStart = window * i / count;
+                    long slot = window * (i + 1) / count - slotStart;
+                    long length = Math.max(1, slot / 2 + (long) (random.nextDouble() * (slot / 2)));
+                    LocalDateTime start = from.plusSeconds(slotStart + (long) (random.nextDouble() * (slot - length)));
+                    LocalDateTime end = start.plusSeconds(length);
+                    rows.accept(new Object[]{start, end, item + 1L, 1 + random.nextInt(users),
+                            bookingStatus(start, end, now)});
+                }
+            }
+        });
+    }
+
+    public void insertComments(long itemId, int count, int users, LocalDateTime now) {
+        insert("comments", "comment_id", "text, item_id, author_id, created", rows -> {
+            for (int i = 1; i <= count; i++) {
+                rows.accept(new Object[]{pick(NAMES) + " " + pick(PHRASES), itemId, 1 + random.nextInt(users),
+                        now.minusHours(random.nextInt(24 * 365))});
+            }
+        });
+    }
+
+    /**
+     * Inserts {@code commentsPerItem[i]} comments for the item with id {@code i + 1}.
+     */
+    public void insertComments(int[] commentsPerItem, int users, LocalDateTime now) {
+        insert("comments", "comment_id", "text, item_id, author_id, created", rows -> {
+            for (int item = 0; item < commentsPerItem.length; item++) {
+                for (int i = 0; i < commentsPerItem[item]; i++) {
+                    rows.accept(new Object[]{pick(NAMES) + " " + pick(PHRASES), item + 1L,
+                            1 + random.nextInt(users), now.minusMinutes(random.nextInt(5 * 365 * 24 * 60))});
+                }
+            }
+        });
+    }
+
+    private void insertItems(int count, Supplier<Long> owners, Supplier<Long> requests) {
+        insert("items", "item_id", "owner_id, request_id, item_name, description, is_available", rows -> {
+            for (int i = 1; i <= count; i++) {
+                String name = pick(NAMES) + " " + pick(ADJECTIVES);
+                String description = pick(ADJECTIVES) + " " + pick(NAMES).toLowerCase() + ", " + pick(PHRASES);
+                rows.accept(new Object[]{owners.get(), requests.get(), name, description, random.nextInt(10) != 0});
+            }
+        });
+    }
+
+    private String bookingStatus(LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        int roll = random.nextInt(100);
+        if (end.isBefore(now)) {
+            return roll < 80 ? "APPROVED" : roll < 95 ? "REJECTED" : "CANCELED";
+        }
+        if (start.isAfter(now)) {
+            return roll < 50 ? "WAITING" : roll < 90 ? "APPROVED" : "REJECTED";
+        }
+        return "APPROVED";
+    }
+
+    /**
+     * Inserts the rows passed to the consumer with dense ids continuing from the current maximum, so benchmarks can
+     * address them as {@code 1..n}, and moves the table's id sequence past them for rows later saved through
+     * Hibernate. Leaving the ids to the column default would take one {@code nextval} per row, and with the sequences
+     * incrementing by a whole Hibernate block every row would skip 50 ids.
+     */
+    private void insert(String table, String idColumn, String columns, Consumer<Consumer<Object[]>> producer) {
+        long firstId = jdbcTemplate.queryForObject("select coalesce(max(" + idColumn + "), 0) + 1 from " + table,
+                Long.class);
+        String sql = "insert into " + table + " (" + idColumn + ", " + columns + ") values (?"
+                + ", ?".repeat(columns.split(",").length) + ")";
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        long[] nextId = {firstId};
+        producer.accept(values -> {
+            Object[] row = new Object[values.length + 1];
+            row[0] = nextId[0]++;
+            System.arraycopy(values, 0, row, 1, values.length);
+            batch.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        jdbcTemplate.execute("alter sequence " + table + "_seq restart with " + nextId[0]);
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request bodies the gateway sends to the server in {@code shareit-server.wire-format}: an item batch for
+ * {@code POST /items/batch}, where a batch of one is the size of a plain {@code POST /items}. Responses are always JSON,
+ * so they are not measured here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx1g"})
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<List<ItemDto>> ITEM_BATCH = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"1", "100", "1000"})
+    private int batchSize;
+
+    private ObjectMapper objectMapper;
+    private List<ItemDto> batch;
+    private byte[] batchPayload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory(format))
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        batch = createBatch(batchSize);
+        batchPayload = objectMapper.writeValueAsBytes(batch);
+        System.out.printf("%n%s batch of %d items: %d bytes%n", format, batchSize, batchPayload.length);
+    }
+
+    @Benchmark
+    public byte[] encodeItemBatch() throws IOException {
+        return objectMapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public List<ItemDto> decodeItemBatch() throws IOException {
+        return objectMapper.readValue(batchPayload, ITEM_BATCH);
+    }
+
+    private static JsonFactory factory(String format) {
+        switch (format) {
+            case "smile":
+                return new SmileFactory();
+            case "cbor":
+                return new CBORFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+
+    private static List<ItemDto> createBatch(int size) {
+        Random random = new Random(42);
+        List<ItemDto> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new ItemDto(0, "Аккумуляторная дрель " + i,
+                    "Ударная, два аккумулятора, кейс, " + random.nextInt(100) + " оборотов в секунду",
+                    random.nextBoolean(), random.nextInt(10) == 0 ? (long) random.nextInt(50_000) : null));
+        }
+        return items;
+    }
+}
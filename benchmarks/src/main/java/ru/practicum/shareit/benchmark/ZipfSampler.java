@@ -0,0 +1,59 @@
+package ru.practicum.shareit.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Draws ids {@code 1..n} with Zipf-distributed popularity: the id of rank {@code k} is drawn with probability
+ * proportional to {@code 1 / k^exponent}. Ranks are shuffled over the ids, so popular rows are scattered across the
+ * table instead of being its first ids. An exponent of {@code 0} gives a uniform distribution.
+ */
+public class ZipfSampler {
+
+    private final Random random;
+    private final double[] cumulative;
+    private final int[] idsByRank;
+
+    public ZipfSampler(int n, double exponent, Random random) {
+        this.random = random;
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+
+        idsByRank = new int[n];
+        for (int rank = 0; rank < n; rank++) {
+            idsByRank[rank] = rank + 1;
+        }
+        for (int rank = n - 1; rank > 0; rank--) {
+            int other = random.nextInt(rank + 1);
+            int id = idsByRank[rank];
+            idsByRank[rank] = idsByRank[other];
+            idsByRank[other] = id;
+        }
+    }
+
+    public long next() {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (rank < 0) {
+            rank = Math.min(-rank - 1, cumulative.length - 1);
+        }
+        return idsByRank[rank];
+    }
+
+    /**
+     * Draws {@code samples} ids and returns how many times each was drawn, indexed by {@code id - 1}.
+     */
+    public int[] histogram(long samples) {
+        int[] counts = new int[cumulative.length];
+        for (long i = 0; i < samples; i++) {
+            counts[(int) next() - 1]++;
+        }
+        return counts;
+    }
+}
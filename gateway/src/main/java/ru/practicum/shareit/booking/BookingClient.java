@@ -1,58 +1,62 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayRequestCoalescer;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.ShareItServerExchangeFactory;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
-    @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ShareItServerExchangeFactory exchangeFactory, GatewayResponseCache responseCache,
+                         GatewayRequestCoalescer requestCoalescer) {
+        super(exchangeFactory, API_PREFIX, responseCache, requestCoalescer);
     }
 
-    public ResponseEntity<Object> createBooking(Long userId, BookingRequestDto bookingDto) {
+    public Mono<ResponseEntity<byte[]>> createBooking(Long userId, BookingRequestDto bookingDto) {
         return post("", userId, bookingDto);
     }
 
-    public ResponseEntity<Object> approveBooking(Long userId, Long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<byte[]>> approveBooking(Long userId, Long bookingId, Boolean approved) {
         return patch("/" + bookingId + "?approved=" + approved, userId, null, null);
     }
 
-    public ResponseEntity<Object> findBookingsByBooker(Long userId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> findBookingsByBooker(Long userId, String state, Integer from, String after, Integer size) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("?state={state}&from={from}&size={size}", parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> findBookingsByOwner(Long userId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> findBookingsByOwner(Long userId, String state, Integer from, String after, Integer size) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
+        ));
+        return get(withCursor("/owner?state={state}&from={from}&size={size}", parameters, after), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<StreamingResponseBody>> exportBookingsByOwner(Long userId, String state, String format) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "format", format
         );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        return stream("/owner/export?state={state}&format={format}", userId, parameters);
     }
 
-    public ResponseEntity<Object> findBookingById(Long userId, Long bookingId) {
+    public Mono<ResponseEntity<byte[]>> findBookingById(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 }
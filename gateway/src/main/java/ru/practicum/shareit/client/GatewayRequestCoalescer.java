@@ -0,0 +1,70 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+public class GatewayRequestCoalescer implements MeterBinder {
+
+    private final boolean enabled;
+    private final ConcurrentMap<Key, Mono<ResponseEntity<byte[]>>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder coalescedCalls = new LongAdder();
+
+    public GatewayRequestCoalescer(@Value("${shareit-gateway.request-coalescing.enabled}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Mono<ResponseEntity<byte[]>> execute(String path, @Nullable Long userId, RequestKeyScope scope,
+                                                Supplier<Mono<ResponseEntity<byte[]>>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        return Mono.defer(() -> {
+            Key key = new Key(path, scope == RequestKeyScope.PER_USER ? userId : null);
+            boolean[] leader = new boolean[1];
+            Mono<ResponseEntity<byte[]>> shared = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return Mono.defer(call).doFinally(signal -> inFlight.remove(k)).cache();
+            });
+            if (leader[0]) {
+                upstreamCalls.increment();
+            } else {
+                coalescedCalls.increment();
+            }
+            return shared;
+        });
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("gateway.requests.upstream", upstreamCalls, LongAdder::sum)
+                .description("Coalescable GET requests forwarded to the ShareIt server")
+                .register(registry);
+        FunctionCounter.builder("gateway.requests.coalesced", coalescedCalls, LongAdder::sum)
+                .description("GET requests answered by an identical request already in flight")
+                .register(registry);
+        Gauge.builder("gateway.requests.in.flight", inFlight, ConcurrentMap::size)
+                .description("Distinct coalescable GET requests currently in flight")
+                .register(registry);
+    }
+
+    @lombok.Value
+    private static class Key {
+        String path;
+        Long userId;
+    }
+}
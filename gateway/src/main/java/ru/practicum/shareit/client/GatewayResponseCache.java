@@ -0,0 +1,119 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class GatewayResponseCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "gateway-responses";
+    private static final int ENTRY_OVERHEAD = 256;
+
+    private final boolean enabled;
+    private final Cache<Key, ResponseEntity<byte[]>> responses;
+    private final Map<String, Set<Key>> keysByPath = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public GatewayResponseCache(ResponseCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher(GatewayResponseCache::weigh)
+                .expireAfterWrite(properties.getTimeToLive())
+                .executor(Runnable::run)
+                .removalListener(this::unindex)
+                .recordStats()
+                .build();
+    }
+
+    public Mono<ResponseEntity<byte[]>> get(String path, @Nullable Long userId,
+                                            Supplier<Mono<ResponseEntity<byte[]>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(path, userId);
+        ResponseEntity<byte[]> cached = responses.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        long generation = invalidations.get();
+        return loader.get().doOnNext(response -> {
+            if (response.getStatusCode().is2xxSuccessful()) {
+                put(key, response, generation);
+            }
+        });
+    }
+
+    public void invalidate(String path) {
+        if (!enabled) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        String resource = resourceOf(path);
+        while (!resource.isEmpty()) {
+            Set<Key> keys = keysByPath.get(resource);
+            if (keys != null) {
+                responses.invalidateAll(Set.copyOf(keys));
+            }
+            resource = resource.substring(0, resource.lastIndexOf('/'));
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, responses, CACHE_NAME);
+    }
+
+    private void put(Key key, ResponseEntity<byte[]> response, long generation) {
+        keysByPath.computeIfAbsent(resourceOf(key.path), path -> ConcurrentHashMap.newKeySet()).add(key);
+        responses.put(key, response);
+        if (invalidations.get() != generation) {
+            responses.invalidate(key);
+        }
+    }
+
+    private void unindex(Key key, ResponseEntity<byte[]> response, RemovalCause cause) {
+        if (key == null || cause == RemovalCause.REPLACED) {
+            return;
+        }
+        keysByPath.computeIfPresent(resourceOf(key.path), (path, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static String resourceOf(String path) {
+        int query = path.indexOf('?');
+        String resource = query < 0 ? path : path.substring(0, query);
+        return resource.endsWith("/") ? resource.substring(0, resource.length() - 1) : resource;
+    }
+
+    private static int weigh(Key key, ResponseEntity<byte[]> response) {
+        byte[] body = response.getBody();
+        return ENTRY_OVERHEAD + key.path.length() * 2 + (body == null ? 0 : body.length);
+    }
+
+    @Value
+    private static class Key {
+        String path;
+        Long userId;
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.response-cache")
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+    private DataSize maximumSize = DataSize.ofMegabytes(32);
+    private Duration timeToLive = Duration.ofSeconds(5);
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+
+public class RestTemplateExchange implements ShareItServerExchange {
+    private final RestTemplate rest;
+    private final WireFormat requestFormat;
+
+    public RestTemplateExchange(RestTemplate rest, WireFormat requestFormat) {
+        this.rest = rest;
+        this.requestFormat = requestFormat;
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        if (body != null) {
+            headers.setContentType(requestFormat.getMediaType());
+        }
+        return Mono.fromSupplier(() -> send(method, path, new HttpEntity<>(body, headers), parameters));
+    }
+
+    @Override
+    public Mono<ResponseEntity<StreamingResponseBody>> stream(String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters) {
+        return Mono.fromCallable(() -> open(path, headers, parameters));
+    }
+
+    private ResponseEntity<StreamingResponseBody> open(String path, HttpHeaders headers,
+                                                       @Nullable Map<String, Object> parameters) throws IOException {
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, HttpMethod.GET);
+        request.getHeaders().addAll(headers);
+        ClientHttpResponse response = request.execute();
+
+        return ResponseEntity.status(response.getRawStatusCode()).headers(response.getHeaders())
+                .body(outputStream -> {
+                    try (response) {
+                        StreamUtils.copy(response.getBody(), outputStream);
+                    }
+                });
+    }
+
+    private ResponseEntity<byte[]> send(HttpMethod method, String path, HttpEntity<Object> requestEntity,
+                                        @Nullable Map<String, Object> parameters) {
+        try {
+            if (parameters != null) {
+                return rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                return rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode()).headers(e.getResponseHeaders())
+                    .body(e.getResponseBodyAsByteArray());
+        }
+    }
+}
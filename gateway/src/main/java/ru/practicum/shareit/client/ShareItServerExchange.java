@@ -0,0 +1,18 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public interface ShareItServerExchange {
+    Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                          @Nullable Map<String, Object> parameters, @Nullable Object body);
+
+    Mono<ResponseEntity<StreamingResponseBody>> stream(String path, HttpHeaders headers,
+                                                       @Nullable Map<String, Object> parameters);
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.client-mode", havingValue = "reactive")
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class WebClientConfig {
+
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(properties.getMaxTotal())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getKeepAlive())
+                .evictInBackground(properties.getMaxIdleTime())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ShareItServerExchangeFactory reactiveExchangeFactory(@Value("${shareit-server.url}") String serverUrl,
+                                                                @Value("${shareit-server.wire-format}")
+                                                                WireFormat wireFormat,
+                                                                WebClient.Builder builder,
+                                                                ConnectionProvider shareItServerConnectionProvider,
+                                                                HttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(shareItServerConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout());
+        WebClient.Builder connectedBuilder = builder.clientConnector(new ReactorClientHttpConnector(httpClient));
+
+        return apiPrefix -> new WebClientExchange(connectedBuilder.clone().baseUrl(serverUrl + apiPrefix).build(),
+                wireFormat);
+    }
+}
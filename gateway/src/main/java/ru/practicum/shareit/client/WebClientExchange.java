@@ -0,0 +1,56 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class WebClientExchange implements ShareItServerExchange {
+    private final WebClient webClient;
+    private final WireFormat requestFormat;
+
+    public WebClientExchange(WebClient webClient, WireFormat requestFormat) {
+        this.webClient = webClient;
+        this.requestFormat = requestFormat;
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        WebClient.RequestBodySpec request = parameters != null
+                ? webClient.method(method).uri(path, parameters)
+                : webClient.method(method).uri(path);
+        request.headers(requestHeaders -> requestHeaders.addAll(headers));
+        if (body != null) {
+            request.contentType(requestFormat.getMediaType());
+        }
+
+        return (body != null ? request.bodyValue(body) : request)
+                .exchangeToMono(response -> response.toEntity(byte[].class));
+    }
+
+    @Override
+    public Mono<ResponseEntity<StreamingResponseBody>> stream(String path, HttpHeaders headers,
+                                                              @Nullable Map<String, Object> parameters) {
+        WebClient.RequestHeadersSpec<?> request = parameters != null
+                ? webClient.get().uri(path, parameters)
+                : webClient.get().uri(path);
+
+        return request.headers(requestHeaders -> requestHeaders.addAll(headers))
+                .retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(response -> ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders())
+                        .body(outputStream -> DataBufferUtils.write(response.getBody(), outputStream)
+                                .map(DataBufferUtils::release)
+                                .then()
+                                .block()));
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class ItemBatchReader {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int maxRows;
+
+    public ItemBatchReader(ObjectMapper objectMapper, Validator validator,
+                           @Value("${shareit-gateway.item-import.max-rows}") int maxRows) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.maxRows = maxRows;
+    }
+
+    public List<ItemDto> read(InputStream body) throws IOException {
+        List<ItemDto> itemDtos = new ArrayList<>();
+        try (MappingIterator<ItemDto> rows = objectMapper.readerFor(ItemDto.class).readValues(body)) {
+            while (rows.hasNextValue()) {
+                if (itemDtos.size() == maxRows) {
+                    throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                            "Пакет не может содержать больше " + maxRows + " вещей!");
+                }
+                itemDtos.add(rows.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Некорректная строка " + (itemDtos.size() + 1) + ": " + e.getOriginalMessage());
+        }
+        if (itemDtos.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Пакет не содержит ни одной вещи!");
+        }
+        return itemDtos;
+    }
+
+    public List<ItemImportResultDto> validate(List<ItemDto> itemDtos) {
+        List<ItemImportResultDto> errors = new ArrayList<>();
+        for (int row = 0; row < itemDtos.size(); row++) {
+            Set<ConstraintViolation<ItemDto>> violations = validator.validate(itemDtos.get(row));
+            if (!violations.isEmpty()) {
+                errors.add(new ItemImportResultDto(row, null, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(" "))));
+            }
+        }
+        return errors;
+    }
+}
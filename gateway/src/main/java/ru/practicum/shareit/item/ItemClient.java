@@ -1,62 +1,79 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayRequestCoalescer;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.RequestKeyScope;
+import ru.practicum.shareit.client.ShareItServerExchangeFactory;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
-    @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ShareItServerExchangeFactory exchangeFactory, GatewayResponseCache responseCache,
+                      GatewayRequestCoalescer requestCoalescer) {
+        super(exchangeFactory, API_PREFIX, responseCache, requestCoalescer);
     }
 
-    public ResponseEntity<Object> saveItem(Long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<byte[]>> saveItem(Long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> updateItem(Long userId, ItemDto itemDto, Long itemId) {
+    public Mono<ResponseEntity<byte[]>> importItems(Long userId, List<ItemDto> itemDtos) {
+        return post("/batch", userId, itemDtos);
+    }
+
+    public Mono<ResponseEntity<byte[]>> updateItem(Long userId, ItemDto itemDto, Long itemId) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> findItemsByUser(Long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> findItemsByUser(Long userId, Integer from, Long after, Integer size) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("?from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("?from={from}&size={size}", parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> findItemById(Long itemId, Long userId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<byte[]>> findItemById(Long itemId, Long userId) {
+        return getCached("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> searchItems(Long userId, String text, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> searchItems(Long userId, String text, Integer from, Long after, Integer size) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "text", text,
                 "from", from,
                 "size", size
-        );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        ));
+        return getCoalesced(withCursor("/search?text={text}&from={from}&size={size}", parameters, after), userId,
+                parameters, RequestKeyScope.SHARED);
+    }
+
+    public Mono<ResponseEntity<byte[]>> findItemAvailability(Long userId, Long itemId, LocalDate from, LocalDate to) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder path = new StringBuilder("/" + itemId + "/availability");
+        if (from != null) {
+            parameters.put("from", from);
+            path.append("?from={from}");
+        }
+        if (to != null) {
+            parameters.put("to", to);
+            path.append(from != null ? "&" : "?").append("to={to}");
+        }
+        return get(path.toString(), userId, parameters);
     }
 
-    public ResponseEntity<Object> addComment(Long userId, CommentDto commentDto, Long itemId) {
+    public Mono<ResponseEntity<byte[]>> addComment(Long userId, CommentDto commentDto, Long itemId) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
 }
@@ -1,16 +1,25 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
 
 @Controller
 @RequiredArgsConstructor
@@ -20,46 +29,75 @@ import javax.validation.constraints.Min;
 public class ItemController {
 
     private final ItemClient itemClient;
+    private final ItemBatchReader itemBatchReader;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
-    public ResponseEntity<Object> saveItem(@RequestHeader("X-Sharer-User-Id") long userId, @Valid @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<byte[]>> saveItem(@RequestHeader("X-Sharer-User-Id") long userId, @Valid @RequestBody ItemDto itemDto) {
         log.info("Получен POST-запрос на добавление вещи владельцем с ID={}", userId);
         return itemClient.saveItem(userId, itemDto);
     }
 
+    @PostMapping(path = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<byte[]>> importItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                    InputStream body) throws IOException {
+        List<ItemDto> itemDtos = itemBatchReader.read(body);
+        log.info("Получен POST-запрос на пакетное добавление {} вещей владельцем с ID={}", itemDtos.size(), userId);
+        List<ItemImportResultDto> errors = itemBatchReader.validate(itemDtos);
+        if (!errors.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(objectMapper.writeValueAsBytes(errors)));
+        }
+        return itemClient.importItems(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") long userId, @RequestBody ItemDto itemDto,
-                                             @PathVariable long itemId) {
+    public Mono<ResponseEntity<byte[]>> updateItem(@RequestHeader("X-Sharer-User-Id") long userId, @RequestBody ItemDto itemDto,
+                                                   @PathVariable long itemId) {
         log.debug("Получен PATCH-запрос на обновление вещи с ID={}", itemId);
         return itemClient.updateItem(userId, itemDto, itemId);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> findItemById(@PathVariable long itemId,
-                                               @RequestHeader("X-Sharer-User-Id") long userId) {
+    public Mono<ResponseEntity<byte[]>> findItemById(@PathVariable long itemId,
+                                                     @RequestHeader("X-Sharer-User-Id") long userId) {
         log.info("Получен GET-запрос на получение вещи с ID={}", itemId);
         return itemClient.findItemById(itemId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findItemsByUser(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                  @RequestParam(required = false, defaultValue = "0") @Min(0) int from,
-                                                  @RequestParam(required = false, defaultValue = "10") @Min(1) int size) {
+    public Mono<ResponseEntity<byte[]>> findItemsByUser(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                        @RequestParam(required = false, defaultValue = "0") @Min(0) int from,
+                                                        @RequestParam(required = false) @Min(0) Long after,
+                                                        @RequestParam(required = false, defaultValue = "10") @Min(1) int size) {
         log.info("Получен GET-запрос на получение всех вещей владельца с ID={}", userId);
-        return itemClient.findItemsByUser(userId, from, size);
+        return itemClient.findItemsByUser(userId, from, after, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestHeader("X-Sharer-User-Id") long userId, @RequestParam String text,
-                                              @RequestParam(required = false, defaultValue = "0") @Min(0) int from,
-                                              @RequestParam(required = false, defaultValue = "10") @Min(1) int size) {
+    public Mono<ResponseEntity<byte[]>> searchItems(@RequestHeader("X-Sharer-User-Id") long userId, @RequestParam String text,
+                                                    @RequestParam(required = false, defaultValue = "0") @Min(0) int from,
+                                                    @RequestParam(required = false) @Min(0) Long after,
+                                                    @RequestParam(required = false, defaultValue = "10") @Min(1) int size) {
         log.info("Получен GET-запрос на поиск вещи с текстом={}", text);
-        return itemClient.searchItems(userId, text, from, size);
+        return itemClient.searchItems(userId, text, from, after, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<byte[]>> findItemAvailability(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                             @PathVariable long itemId,
+                                                             @RequestParam(required = false)
+                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                             @RequestParam(required = false)
+                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Получен GET-запрос на получение календаря доступности вещи с ID={}", itemId);
+        return itemClient.findItemAvailability(userId, itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @Valid @RequestBody CommentDto commentDto, @PathVariable long itemId) {
+    public Mono<ResponseEntity<byte[]>> addComment(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @Valid @RequestBody CommentDto commentDto, @PathVariable long itemId) {
         log.info("Получен POST-запрос на добавление отзыва пользователем с ID={}", userId);
         return itemClient.addComment(userId, commentDto, itemId);
     }
@@ -1,48 +1,43 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayRequestCoalescer;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.ShareItServerExchangeFactory;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
-    @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(ShareItServerExchangeFactory exchangeFactory, GatewayResponseCache responseCache,
+                             GatewayRequestCoalescer requestCoalescer) {
+        super(exchangeFactory, API_PREFIX, responseCache, requestCoalescer);
     }
 
-    public ResponseEntity<Object> createRequest(Long userId, ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<byte[]>> createRequest(Long userId, ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> findRequestsByRequester(Long userId) {
+    public Mono<ResponseEntity<byte[]>> findRequestsByRequester(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findAllRequests(Long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<byte[]>> findAllRequests(Long userId, Integer from, String after, Integer size) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("/all?from={from}&size={size}", parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> findRequestById(Long userId, Long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<byte[]>> findRequestById(Long userId, Long requestId) {
+        return getCached("/" + requestId, userId);
     }
 }
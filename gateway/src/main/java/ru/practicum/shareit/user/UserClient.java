@@ -1,44 +1,40 @@
 package ru.practicum.shareit.user;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayRequestCoalescer;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.ShareItServerExchangeFactory;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(ShareItServerExchangeFactory exchangeFactory, GatewayResponseCache responseCache,
+                      GatewayRequestCoalescer requestCoalescer) {
+        super(exchangeFactory, API_PREFIX, responseCache, requestCoalescer);
     }
 
-    public ResponseEntity<Object> saveUser(UserDto userDto) {
+    public Mono<ResponseEntity<byte[]>> saveUser(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> updateUser(UserDto userDto, Long userId) {
+    public Mono<ResponseEntity<byte[]>> updateUser(UserDto userDto, Long userId) {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> deleteUser(Long userId) {
+    public Mono<ResponseEntity<byte[]>> deleteUser(Long userId) {
         return delete("/" + userId);
     }
 
-    public ResponseEntity<Object> findAllUsers() {
+    public Mono<ResponseEntity<byte[]>> findAllUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> findUserById(Long userId) {
-        return get("/" + userId);
+    public Mono<ResponseEntity<byte[]>> findUserById(Long userId) {
+        return getCached("/" + userId, null);
     }
 }
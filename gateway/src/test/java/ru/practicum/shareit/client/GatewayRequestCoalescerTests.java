@@ -0,0 +1,121 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GatewayRequestCoalescerTests {
+
+    private GatewayRequestCoalescer requestCoalescer;
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Sinks.One<ResponseEntity<byte[]>> upstream = Sinks.one();
+
+    @BeforeEach
+    void setUp() {
+        requestCoalescer = new GatewayRequestCoalescer(true);
+        requestCoalescer.bindTo(meterRegistry);
+    }
+
+    @Test
+    void concurrentIdenticalGetsReachUpstreamOnceTest() {
+        CompletableFuture<ResponseEntity<byte[]>> first = execute("/items/search?text=дрель", 1L,
+                RequestKeyScope.SHARED, pendingCall());
+        CompletableFuture<ResponseEntity<byte[]>> second = execute("/items/search?text=дрель", 1L,
+                RequestKeyScope.SHARED, pendingCall());
+
+        assertThat(inFlight()).isEqualTo(1);
+        upstream.tryEmitValue(ResponseEntity.ok(bytes("[]")));
+
+        assertThat(body(first.join())).isEqualTo("[]");
+        assertThat(body(second.join())).isEqualTo("[]");
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.requests.coalesced").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void perUserKeysDifferByUserTest() {
+        execute("/items/5", 1L, RequestKeyScope.PER_USER, pendingCall());
+        execute("/items/5", 2L, RequestKeyScope.PER_USER, pendingCall());
+        execute("/items/5", 1L, RequestKeyScope.PER_USER, pendingCall());
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+        assertThat(inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void sharedKeysIgnoreUserTest() {
+        execute("/items/search?text=дрель", 1L, RequestKeyScope.SHARED, pendingCall());
+        execute("/items/search?text=дрель", 2L, RequestKeyScope.SHARED, pendingCall());
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void completedRequestIsNotReusedTest() {
+        assertThat(body(execute("/items/5", 1L, RequestKeyScope.PER_USER, respond("Дрель")).join()))
+                .isEqualTo("Дрель");
+        assertThat(inFlight()).isEqualTo(0);
+
+        assertThat(body(execute("/items/5", 1L, RequestKeyScope.PER_USER, respond("Пила")).join()))
+                .isEqualTo("Пила");
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void failedRequestIsNotReusedTest() {
+        CompletableFuture<ResponseEntity<byte[]>> failed = execute("/items/5", 1L, RequestKeyScope.PER_USER,
+                call(Mono.error(new IllegalStateException("Сервер недоступен"))));
+        assertThrows(Exception.class, failed::join);
+        assertThat(inFlight()).isEqualTo(0);
+
+        assertThat(body(execute("/items/5", 1L, RequestKeyScope.PER_USER, respond("Дрель")).join()))
+                .isEqualTo("Дрель");
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    private CompletableFuture<ResponseEntity<byte[]>> execute(String path, Long userId, RequestKeyScope scope,
+                                                              Supplier<Mono<ResponseEntity<byte[]>>> call) {
+        return requestCoalescer.execute(path, userId, scope, call).toFuture();
+    }
+
+    private Supplier<Mono<ResponseEntity<byte[]>>> pendingCall() {
+        return call(upstream.asMono());
+    }
+
+    private Supplier<Mono<ResponseEntity<byte[]>>> respond(String body) {
+        return call(Mono.just(ResponseEntity.ok(bytes(body))));
+    }
+
+    private Supplier<Mono<ResponseEntity<byte[]>>> call(Mono<ResponseEntity<byte[]>> response) {
+        return () -> {
+            upstreamCalls.incrementAndGet();
+            return response;
+        };
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("gateway.requests.in.flight").gauge().value();
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String body(ResponseEntity<byte[]> response) {
+        return new String(response.getBody(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GatewayResponseCacheTests {
+
+    private GatewayResponseCache responseCache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new GatewayResponseCache(new ResponseCacheProperties());
+    }
+
+    @Test
+    void repeatedGetIsServedFromCacheTest() {
+        assertThat(body(responseCache.get("/items/5", 1L, loader("Дрель")))).isEqualTo("Дрель");
+        assertThat(body(responseCache.get("/items/5", 1L, loader("Пила")))).isEqualTo("Дрель");
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void writeToSubresourceInvalidatesResourceTest() {
+        responseCache.get("/items/5", 1L, loader("Дрель")).block();
+        responseCache.get("/items/6", 1L, loader("Пила")).block();
+
+        responseCache.invalidate("/items/5/comment");
+
+        assertThat(body(responseCache.get("/items/5", 1L, loader("Дрель с отзывом")))).isEqualTo("Дрель с отзывом");
+        assertThat(body(responseCache.get("/items/6", 1L, loader("Другая пила")))).isEqualTo("Пила");
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    void responseLoadedDuringWriteIsNotStoredTest() {
+        Supplier<Mono<ResponseEntity<byte[]>>> racingLoader = () -> Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            responseCache.invalidate("/items/5");
+            return ResponseEntity.ok(bytes("Старая дрель"));
+        });
+
+        assertThat(body(responseCache.get("/items/5", 1L, racingLoader))).isEqualTo("Старая дрель");
+        assertThat(body(responseCache.get("/items/5", 1L, loader("Новая дрель")))).isEqualTo("Новая дрель");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void responsesAreCachedPerUserTest() {
+        assertThat(body(responseCache.get("/items/5", 1L, loader("Дрель владельца")))).isEqualTo("Дрель владельца");
+        assertThat(body(responseCache.get("/items/5", 2L, loader("Дрель")))).isEqualTo("Дрель");
+
+        assertThat(body(responseCache.get("/items/5", 1L, loader("Пила")))).isEqualTo("Дрель владельца");
+        assertThat(body(responseCache.get("/items/5", 2L, loader("Пила")))).isEqualTo("Дрель");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void errorResponsesAreNotCachedTest() {
+        Supplier<Mono<ResponseEntity<byte[]>>> notFound = () -> Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(bytes("Вещь не найдена!"));
+        });
+
+        responseCache.get("/items/5", 1L, notFound).block();
+        assertThat(body(responseCache.get("/items/5", 1L, loader("Дрель")))).isEqualTo("Дрель");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private Supplier<Mono<ResponseEntity<byte[]>>> loader(String body) {
+        return () -> Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return ResponseEntity.ok(bytes(body));
+        });
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String body(Mono<ResponseEntity<byte[]>> response) {
+        return new String(response.block().getBody(), StandardCharsets.UTF_8);
+    }
+}
@@ -1,10 +1,16 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.export.BookingExportFormat;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.user.RequestUserId;
 
 import java.util.List;
 
@@ -17,36 +23,58 @@ public class BookingController {
     private final BookingService bookingService;
 
     @PostMapping
-    public BookingResponseDto createBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+    public BookingResponseDto createBooking(@RequestUserId long userId,
                                             @RequestBody BookingRequestDto bookingDto) {
         return bookingService.createBooking(userId, bookingDto);
     }
 
     @PatchMapping("/{bookingId}")
-    public BookingResponseDto approveBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+    public BookingResponseDto approveBooking(@RequestUserId long userId,
                                              @PathVariable long bookingId, @RequestParam boolean approved) {
         return bookingService.approveBooking(userId, bookingId, approved);
     }
 
     @GetMapping("/{bookingId}")
-    public BookingResponseDto findBookingById(@RequestHeader("X-Sharer-User-Id") long userId,
+    public BookingResponseDto findBookingById(@RequestUserId long userId,
                                               @PathVariable long bookingId) {
         return bookingService.findBookingById(userId, bookingId);
     }
 
     @GetMapping
-    public List<BookingResponseDto> findBookingsByBooker(@RequestHeader("X-Sharer-User-Id") long userId,
+    public List<BookingResponseDto> findBookingsByBooker(@RequestUserId long userId,
                                                          @RequestParam(defaultValue = "ALL") String state,
                                                          @RequestParam(required = false, defaultValue = "0") int from,
+                                                         @RequestParam(required = false) String after,
                                                          @RequestParam(required = false, defaultValue = "10") int size) {
+        if (after != null) {
+            return bookingService.findBookingsByBooker(userId, state, after, size);
+        }
         return bookingService.findBookingsByBooker(userId, state, from, size);
     }
 
     @GetMapping("/owner")
-    public List<BookingResponseDto> findBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long ownerId,
+    public List<BookingResponseDto> findBookingsByOwner(@RequestUserId long ownerId,
                                                         @RequestParam(defaultValue = "ALL") String state,
                                                         @RequestParam(required = false, defaultValue = "0") int from,
+                                                        @RequestParam(required = false) String after,
                                                         @RequestParam(required = false, defaultValue = "10") int size) {
+        if (after != null) {
+            return bookingService.findBookingsByOwner(ownerId, state, after, size);
+        }
         return bookingService.findBookingsByOwner(ownerId, state, from, size);
     }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsByOwner(@RequestUserId long ownerId,
+                                                                       @RequestParam(defaultValue = "ALL") String state,
+                                                                       @RequestParam(defaultValue = "csv") String format) {
+        BookingExportFormat exportFormat = BookingExportFormat.from(format);
+        StreamingResponseBody body = bookingService.exportBookingsByOwner(ownerId, state, exportFormat);
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(exportFormat.getFileName()).build().toString())
+                .body(body);
+    }
 }
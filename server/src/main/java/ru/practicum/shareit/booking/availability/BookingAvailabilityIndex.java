@@ -0,0 +1,111 @@
+package ru.practicum.shareit.booking.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.AvailableException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Periods that have not ended yet, per recently booked item. Trees expire, so periods changed by another instance are
+ * picked up after {@code shareit.booking-availability.expire-after-write} at the latest.
+ */
+@Component
+public class BookingAvailabilityIndex {
+
+    private static final Set<BookingStatus> BLOCKING_STATUSES = EnumSet.of(BookingStatus.WAITING,
+            BookingStatus.APPROVED);
+    private static final int LOCK_STRIPES = 1024;
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, IntervalTree> schedules;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public BookingAvailabilityIndex(BookingRepository bookingRepository,
+                                    @Value("${shareit.booking-availability.maximum-size}") long maximumSize,
+                                    @Value("${shareit.booking-availability.expire-after-write}")
+                                    Duration expireAfterWrite) {
+        this.bookingRepository = bookingRepository;
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public Booking reserve(Booking booking, UnaryOperator<Booking> save) {
+        long itemId = booking.getItem().getId();
+        ReentrantLock lock = lock(itemId);
+        lock.lock();
+        try {
+            IntervalTree tree = schedules.get(itemId, this::load);
+            if (tree.findOverlap(booking.getStart(), booking.getEnd(), booking.getId()) != null) {
+                throw new AvailableException("Вещь уже забронирована на указанные даты!");
+            }
+            Booking saved;
+            try {
+                saved = save.apply(booking);
+            } catch (DataIntegrityViolationException e) {
+                schedules.invalidate(itemId);
+                throw new AvailableException("Вещь уже забронирована на указанные даты!");
+            }
+            tree.add(saved.getId(), saved.getStart(), saved.getEnd());
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Booking release(Booking booking, UnaryOperator<Booking> save) {
+        long itemId = booking.getItem().getId();
+        ReentrantLock lock = lock(itemId);
+        lock.lock();
+        try {
+            Booking saved = save.apply(booking);
+            IntervalTree tree = schedules.getIfPresent(itemId);
+            if (tree != null) {
+                tree.remove(saved.getId());
+            }
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void evict(long itemId) {
+        ReentrantLock lock = lock(itemId);
+        lock.lock();
+        try {
+            schedules.invalidate(itemId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lock(long itemId) {
+        return locks[Math.floorMod(Long.hashCode(itemId), LOCK_STRIPES)];
+    }
+
+    private IntervalTree load(long itemId) {
+        IntervalTree tree = new IntervalTree();
+        for (BookingIntervalView interval : bookingRepository.findBookingIntervals(itemId, BLOCKING_STATUSES,
+                LocalDateTime.now())) {
+            tree.add(interval.getId(), interval.getStart(), interval.getEnd());
+        }
+        return tree;
+    }
+}
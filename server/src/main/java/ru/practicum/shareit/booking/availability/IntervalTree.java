@@ -0,0 +1,168 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+class IntervalTree {
+    private final Map<Long, LocalDateTime> starts = new HashMap<>();
+    private Node root;
+
+    void add(long id, LocalDateTime start, LocalDateTime end) {
+        remove(id);
+        root = insert(root, new Node(id, start, end));
+        starts.put(id, start);
+    }
+
+    void remove(long id) {
+        LocalDateTime start = starts.remove(id);
+        if (start != null) {
+            root = delete(root, start, id);
+        }
+    }
+
+    Long findOverlap(LocalDateTime start, LocalDateTime end, Long excludedId) {
+        return findOverlap(root, start, end, excludedId);
+    }
+
+    int size() {
+        return starts.size();
+    }
+
+    private static Long findOverlap(Node node, LocalDateTime start, LocalDateTime end, Long excludedId) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return null;
+        }
+        Long overlap = findOverlap(node.left, start, end, excludedId);
+        if (overlap != null) {
+            return overlap;
+        }
+        if (!node.start.isBefore(end)) {
+            return null;
+        }
+        if (node.end.isAfter(start) && !Long.valueOf(node.id).equals(excludedId)) {
+            return node.id;
+        }
+        return findOverlap(node.right, start, end, excludedId);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return balance(node);
+    }
+
+    private static Node delete(Node node, LocalDateTime start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(start, id, node);
+        if (comparison < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteMin(node.right);
+            successor.left = node.left;
+            node = successor;
+        }
+        return balance(node);
+    }
+
+    private static Node deleteMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteMin(node.left);
+        return balance(node);
+    }
+
+    private static int compare(LocalDateTime start, long id, Node node) {
+        int comparison = start.compareTo(node.start);
+        return comparison != 0 ? comparison : Long.compare(id, node.id);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        node.maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(node.maxEnd)) {
+            node.maxEnd = node.right.maxEnd;
+        }
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static class Node {
+        private final long id;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private LocalDateTime maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long id, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+}
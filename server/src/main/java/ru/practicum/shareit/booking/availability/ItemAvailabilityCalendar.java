@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.AvailabilityPeriodDto;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Availability of recently viewed items, keeping the last {@code shareit.availability-calendar.ranges-per-item}
+ * requested ranges per item. All ranges of an item expire together, so bookings approved by another instance show up
+ * after {@code shareit.availability-calendar.expire-after-write} at the latest.
+ */
+@Component
+public class ItemAvailabilityCalendar {
+
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final int rangesPerItem;
+    private final Cache<Long, Map<Range, List<AvailabilityPeriodDto>>> calendars;
+
+    public ItemAvailabilityCalendar(BookingRepository bookingRepository, ItemRepository itemRepository,
+                                    @Value("${shareit.availability-calendar.maximum-size}") long maximumSize,
+                                    @Value("${shareit.availability-calendar.ranges-per-item}") int rangesPerItem,
+                                    @Value("${shareit.availability-calendar.expire-after-write}")
+                                    Duration expireAfterWrite) {
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.rangesPerItem = rangesPerItem;
+        this.calendars = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public List<AvailabilityPeriodDto> findPeriods(long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<Range, List<AvailabilityPeriodDto>> calendar = calendars.get(itemId,
+                id -> Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Range, List<AvailabilityPeriodDto>> eldest) {
+                        return size() > rangesPerItem;
+                    }
+                }));
+        Range range = new Range(from, to);
+        List<AvailabilityPeriodDto> periods = calendar.get(range);
+        if (periods == null) {
+            if (!itemRepository.existsById(itemId)) {
+                throw new NotFoundException("Вещь не найдена!");
+            }
+            periods = Collections.unmodifiableList(merge(bookingRepository.findBookingIntervalsBetween(itemId,
+                    BookingStatus.APPROVED, from, to), from, to));
+            calendar.put(range, periods);
+        }
+        return periods;
+    }
+
+    public void evict(long itemId) {
+        calendars.invalidate(itemId);
+    }
+
+    static List<AvailabilityPeriodDto> merge(List<BookingIntervalView> intervals, LocalDateTime from,
+                                             LocalDateTime to) {
+        List<AvailabilityPeriodDto> periods = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (BookingIntervalView interval : intervals) {
+            LocalDateTime start = interval.getStart().isBefore(from) ? from : interval.getStart();
+            LocalDateTime end = interval.getEnd().isAfter(to) ? to : interval.getEnd();
+            if (!end.isAfter(cursor)) {
+                continue;
+            }
+            if (start.isAfter(cursor)) {
+                periods.add(new AvailabilityPeriodDto(cursor, start, true));
+                periods.add(new AvailabilityPeriodDto(start, end, false));
+            } else if (periods.isEmpty()) {
+                periods.add(new AvailabilityPeriodDto(cursor, end, false));
+            } else {
+                periods.get(periods.size() - 1).setEnd(end);
+            }
+            cursor = end;
+        }
+        if (cursor.isBefore(to)) {
+            periods.add(new AvailabilityPeriodDto(cursor, to, true));
+        }
+        return periods;
+    }
+
+    @lombok.Value
+    private static class Range {
+        LocalDateTime from;
+        LocalDateTime to;
+    }
+}
@@ -19,4 +19,10 @@ public class BookingResponseDto {
     private BookingStatus status;
     private UserResponseForBookingDto booker;
     private ItemResponseForBookingDto item;
+
+    public BookingResponseDto(long id, LocalDateTime start, LocalDateTime end, BookingStatus status, long bookerId,
+                              long itemId, String itemName) {
+        this(id, start, end, status, new UserResponseForBookingDto(bookerId),
+                new ItemResponseForBookingDto(itemId, itemName));
+    }
 }
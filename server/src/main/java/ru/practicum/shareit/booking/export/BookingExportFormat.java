@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+@Getter
+@RequiredArgsConstructor
+public enum BookingExportFormat {
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8)),
+    NDJSON(new MediaType("application", "x-ndjson"));
+
+    private final MediaType mediaType;
+
+    public String getFileName() {
+        return "bookings." + name().toLowerCase(Locale.ROOT);
+    }
+
+    public static BookingExportFormat from(String format) {
+        try {
+            return valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Неизвестный формат выгрузки: " + format);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class BookingExporter {
+
+    private static final String CSV_HEADER = "id,start,end,status,booker_id,item_id,item_name";
+
+    private final BookingRepository bookingRepository;
+    private final ObjectMapper objectMapper;
+    @Value("${shareit.booking-export.fetch-size}")
+    private int fetchSize;
+
+    @Transactional(readOnly = true)
+    public void exportOwnerBookings(long ownerId, BookingState state, LocalDateTime now, BookingExportFormat format,
+                                    OutputStream outputStream) throws IOException {
+        try (Stream<BookingResponseDto> bookings = bookingRepository.streamOwnerBookings(ownerId, state, now,
+                fetchSize)) {
+            if (format == BookingExportFormat.CSV) {
+                writeCsv(bookings.iterator(), outputStream);
+            } else {
+                writeNdjson(bookings.iterator(), outputStream);
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<BookingResponseDto> bookings, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (bookings.hasNext()) {
+            BookingResponseDto booking = bookings.next();
+            writer.write(String.valueOf(booking.getId()));
+            writer.write(',');
+            writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(booking.getStart()));
+            writer.write(',');
+            writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(booking.getEnd()));
+            writer.write(',');
+            writer.write(booking.getStatus().name());
+            writer.write(',');
+            writer.write(String.valueOf(booking.getBooker().getId()));
+            writer.write(',');
+            writer.write(String.valueOf(booking.getItem().getId()));
+            writer.write(',');
+            writer.write(csvField(booking.getItem().getName()));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Iterator<BookingResponseDto> bookings, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(BookingResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.setRootValueSeparator(null);
+        while (bookings.hasNext()) {
+            writer.writeValue(generator, bookings.next());
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
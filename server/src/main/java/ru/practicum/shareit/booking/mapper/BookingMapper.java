@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.mapper;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.dto.BookingResponseForItemDto;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.dto.ItemResponseForBookingDto;
 import ru.practicum.shareit.user.dto.UserResponseForBookingDto;
@@ -33,4 +34,11 @@ public class BookingMapper {
                 booking.getBooker().getId()
         );
     }
+
+    public static BookingResponseForItemDto toBookingResponseForItemDto(ItemBookingView booking) {
+        return new BookingResponseForItemDto(
+                booking.getId(),
+                booking.getBookerId()
+        );
+    }
 }
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.pagination.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingQueryRepository {
+
+    List<Booking> findBookerBookings(long bookerId, BookingState state, LocalDateTime now, Pageable pageable);
+
+    List<Booking> findOwnerBookings(long ownerId, BookingState state, LocalDateTime now, Pageable pageable);
+
+    List<Booking> findBookerBookings(long bookerId, BookingState state, LocalDateTime now, KeysetCursor after, int size);
+
+    List<Booking> findOwnerBookings(long ownerId, BookingState state, LocalDateTime now, KeysetCursor after, int size);
+
+    List<BookingResponseDto> findBookerBookingDtos(long bookerId, BookingState state, LocalDateTime now,
+                                                   Pageable pageable);
+
+    List<BookingResponseDto> findOwnerBookingDtos(long ownerId, BookingState state, LocalDateTime now, Pageable pageable);
+
+    List<BookingResponseDto> findBookerBookingDtos(long bookerId, BookingState state, LocalDateTime now,
+                                                   KeysetCursor after, int size);
+
+    List<BookingResponseDto> findOwnerBookingDtos(long ownerId, BookingState state, LocalDateTime now,
+                                                  KeysetCursor after, int size);
+
+    Stream<BookingResponseDto> streamOwnerBookings(long ownerId, BookingState state, LocalDateTime now, int fetchSize);
+}
@@ -0,0 +1,182 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CompoundSelection;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class BookingQueryRepositoryImpl implements BookingQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findBookerBookings(long bookerId, BookingState state, LocalDateTime now, Pageable pageable) {
+        return findBookings(false, bookerId, state, now, null, pageable.getOffset(), pageable.getPageSize());
+    }
+
+    @Override
+    public List<Booking> findOwnerBookings(long ownerId, BookingState state, LocalDateTime now, Pageable pageable) {
+        return findBookings(true, ownerId, state, now, null, pageable.getOffset(), pageable.getPageSize());
+    }
+
+    @Override
+    public List<Booking> findBookerBookings(long bookerId, BookingState state, LocalDateTime now, KeysetCursor after,
+                                            int size) {
+        return findBookings(false, bookerId, state, now, after, 0, size);
+    }
+
+    @Override
+    public List<Booking> findOwnerBookings(long ownerId, BookingState state, LocalDateTime now, KeysetCursor after,
+                                           int size) {
+        return findBookings(true, ownerId, state, now, after, 0, size);
+    }
+
+    @Override
+    public List<BookingResponseDto> findBookerBookingDtos(long bookerId, BookingState state, LocalDateTime now,
+                                                          Pageable pageable) {
+        return findBookingDtos(false, bookerId, state, now, null, pageable.getOffset(), pageable.getPageSize());
+    }
+
+    @Override
+    public List<BookingResponseDto> findOwnerBookingDtos(long ownerId, BookingState state, LocalDateTime now,
+                                                         Pageable pageable) {
+        return findBookingDtos(true, ownerId, state, now, null, pageable.getOffset(), pageable.getPageSize());
+    }
+
+    @Override
+    public List<BookingResponseDto> findBookerBookingDtos(long bookerId, BookingState state, LocalDateTime now,
+                                                          KeysetCursor after, int size) {
+        return findBookingDtos(false, bookerId, state, now, after, 0, size);
+    }
+
+    @Override
+    public List<BookingResponseDto> findOwnerBookingDtos(long ownerId, BookingState state, LocalDateTime now,
+                                                         KeysetCursor after, int size) {
+        return findBookingDtos(true, ownerId, state, now, after, 0, size);
+    }
+
+    @Override
+    public Stream<BookingResponseDto> streamOwnerBookings(long ownerId, BookingState state, LocalDateTime now,
+                                                          int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingResponseDto> query = cb.createQuery(BookingResponseDto.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item", JoinType.INNER);
+
+        ParameterExpression<Long> ownerIdParameter = cb.parameter(Long.class);
+
+        query.select(bookingResponse(cb, booking, item))
+                .where(cb.equal(item.get("owner").get("id"), ownerIdParameter),
+                        statePredicate(cb, booking, state, now))
+                .orderBy(cb.desc(booking.get("start")), cb.desc(booking.get("id")));
+
+        return entityManager.createQuery(query)
+                .setParameter(ownerIdParameter, ownerId)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    private List<Booking> findBookings(boolean byOwner, long userId, BookingState state, LocalDateTime now,
+                                       KeysetCursor after, long offset, int size) {
+        CriteriaQuery<Booking> query = entityManager.getCriteriaBuilder().createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+
+        @SuppressWarnings("unchecked")
+        Join<Booking, Item> item = (Join<Booking, Item>) booking.<Booking, Item>fetch("item", JoinType.INNER);
+        item.fetch("owner", JoinType.INNER);
+        item.fetch("request", JoinType.LEFT).fetch("requester", JoinType.LEFT);
+        booking.fetch("booker", JoinType.INNER);
+
+        return findPage(query.select(booking), booking, item, byOwner, userId, state, now, after, offset, size);
+    }
+
+    private List<BookingResponseDto> findBookingDtos(boolean byOwner, long userId, BookingState state,
+                                                     LocalDateTime now, KeysetCursor after, long offset, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingResponseDto> query = cb.createQuery(BookingResponseDto.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item", JoinType.INNER);
+
+        return findPage(query.select(bookingResponse(cb, booking, item)), booking, item, byOwner, userId, state, now,
+                after, offset, size);
+    }
+
+    private <T> List<T> findPage(CriteriaQuery<T> query, Root<Booking> booking, Join<Booking, Item> item,
+                                 boolean byOwner, long userId, BookingState state, LocalDateTime now,
+                                 KeysetCursor after, long offset, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        ParameterExpression<Long> userIdParameter = cb.parameter(Long.class);
+        ParameterExpression<Long> afterIdParameter = cb.parameter(Long.class);
+
+        Predicate byUser = byOwner
+                ? cb.equal(item.get("owner").get("id"), userIdParameter)
+                : cb.equal(booking.get("booker").get("id"), userIdParameter);
+
+        Predicate predicate = cb.and(byUser, statePredicate(cb, booking, state, now));
+        if (after != null) {
+            predicate = cb.and(predicate,
+                    cb.lessThanOrEqualTo(booking.get("start"), after.getPosition()),
+                    cb.or(cb.lessThan(booking.get("start"), after.getPosition()),
+                            cb.lessThan(booking.get("id"), afterIdParameter)));
+        }
+
+        query.where(predicate)
+                .orderBy(cb.desc(booking.get("start")), cb.desc(booking.get("id")));
+
+        TypedQuery<T> typedQuery = entityManager.createQuery(query)
+                .setParameter(userIdParameter, userId);
+        if (after != null) {
+            typedQuery.setParameter(afterIdParameter, after.getId());
+        }
+
+        return typedQuery
+                .setFirstResult((int) offset)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    private CompoundSelection<BookingResponseDto> bookingResponse(CriteriaBuilder cb, Root<Booking> booking,
+                                                                  Join<Booking, Item> item) {
+        return cb.construct(BookingResponseDto.class,
+                booking.get("id"), booking.get("start"), booking.get("end"), booking.get("status"),
+                booking.get("booker").get("id"), item.get("id"), item.get("name"));
+    }
+
+    private Predicate statePredicate(CriteriaBuilder cb, Root<Booking> booking, BookingState state,
+                                     LocalDateTime now) {
+        switch (state) {
+            case CURRENT:
+                return cb.and(cb.lessThan(booking.get("start"), now), cb.greaterThan(booking.get("end"), now));
+            case PAST:
+                return cb.lessThan(booking.get("end"), now);
+            case FUTURE:
+                return cb.greaterThan(booking.get("start"), now);
+            case WAITING:
+                return cb.equal(booking.get("status"), BookingStatus.WAITING);
+            case REJECTED:
+                return cb.equal(booking.get("status"), BookingStatus.REJECTED);
+            default:
+                return cb.conjunction();
+        }
+    }
+}
@@ -1,39 +1,20 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-
-    List<Booking> findByBookerIdOrderByStartDesc(long bookerId, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfter(long bookerId, LocalDateTime start,
-                                                              LocalDateTime end, Pageable pageable);
-
-    List<Booking> findByBookerIdAndEndIsBeforeOrderByStartDesc(long bookerId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStartIsAfterOrderByStartDesc(long bookerId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStatus(long bookerId, BookingStatus status, Pageable pageable);
-
-    List<Booking> findByItemOwnerIdOrderByStartDesc(long ownerId, Pageable pageable);
-
-    List<Booking> findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(long ownerId, LocalDateTime start,
-                                                                 LocalDateTime end, Pageable pageable);
-
-    List<Booking> findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(long ownerId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findByItemOwnerIdAndStartIsAfterOrderByStartDesc(long ownerId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findByItemOwnerIdAndStatus(long ownerId, BookingStatus status, Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingQueryRepository {
 
     Booking findFirstByItemIdAndStartLessThanEqualAndStatusOrderByStartDesc(long itemId, LocalDateTime start,
                                                                             BookingStatus status);
@@ -41,10 +22,30 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Booking findFirstByItemIdAndStartGreaterThanEqualAndStatusOrderByStartAsc(long itemId, LocalDateTime start,
                                                                               BookingStatus status);
 
+    @Query("select b from Booking b " +
+            "where b.item.id = ?1 and b.booker.id = ?2 and b.end < ?3 and b.status = ?4")
     List<Booking> findByItemIdAndBookerIdAndEndIsBeforeAndStatus(long itemId, long bookerId, LocalDateTime end,
                                                                  BookingStatus status);
 
-    List<Booking> findByItemInAndStartLessThanEqualOrderByStartDesc(List<Item> itemList, LocalDateTime start);
-
-    List<Booking> findByItemInAndStartGreaterThanEqualOrderByStartAsc(List<Item> itemList, LocalDateTime start);
+    @Query(value = "select t.item_id as itemId, t.booking_id as id, t.booker_id as bookerId, " +
+            "t.next_booking as nextBooking " +
+            "from (select b.item_id, b.booking_id, b.booker_id, b.start_date > :now as next_booking, " +
+            "row_number() over (partition by b.item_id, b.start_date > :now " +
+            "order by case when b.start_date > :now then b.start_date end, b.start_date desc) as position " +
+            "from bookings b " +
+            "where b.item_id in (:itemIds) and b.status = 'APPROVED') t " +
+            "where t.position = 1", nativeQuery = true)
+    List<ItemBookingView> findLastAndNextApprovedBookings(@Param("itemIds") Collection<Long> itemIds,
+                                                          @Param("now") LocalDateTime now);
+
+    @Query("select b.id as id, b.start as start, b.end as end from Booking b " +
+            "where b.item.id = ?1 and b.status in ?2 and b.end > ?3")
+    List<BookingIntervalView> findBookingIntervals(long itemId, Collection<BookingStatus> statuses,
+                                                   LocalDateTime endAfter);
+
+    @Query("select b.id as id, b.start as start, b.end as end from Booking b " +
+            "where b.item.id = ?1 and b.status = ?2 and b.start < ?4 and b.end > ?3 " +
+            "order by b.start")
+    List<BookingIntervalView> findBookingIntervalsBetween(long itemId, BookingStatus status, LocalDateTime from,
+                                                          LocalDateTime to);
 }
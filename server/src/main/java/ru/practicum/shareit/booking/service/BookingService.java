@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.export.BookingExportFormat;
 
 import java.util.List;
 
@@ -15,4 +17,10 @@ public interface BookingService {
     List<BookingResponseDto> findBookingsByBooker(long userId, String state, int from, int size);
 
     List<BookingResponseDto> findBookingsByOwner(long userId, String state, int from, int size);
+
+    List<BookingResponseDto> findBookingsByBooker(long userId, String state, String after, int size);
+
+    List<BookingResponseDto> findBookingsByOwner(long userId, String state, String after, int size);
+
+    StreamingResponseBody exportBookingsByOwner(long userId, String state, BookingExportFormat format);
 }
@@ -1,13 +1,19 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityCalendar;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.export.BookingExportFormat;
+import ru.practicum.shareit.booking.export.BookingExporter;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AvailableException;
@@ -16,6 +22,8 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -30,6 +38,11 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingAvailabilityIndex bookingAvailabilityIndex;
+    private final ItemAvailabilityCalendar itemAvailabilityCalendar;
+    private final BookingExporter bookingExporter;
+    @Value("${shareit.booking-list.projection}")
+    private boolean bookingListProjection;
 
     @Override
     public BookingResponseDto createBooking(long userId, BookingRequestDto bookingRequestDto) {
@@ -54,7 +67,7 @@ public class BookingServiceImpl implements BookingService {
         booking.setBooker(user);
         booking.setStatus(BookingStatus.WAITING);
 
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        return BookingMapper.toBookingDto(bookingAvailabilityIndex.reserve(booking, bookingRepository::save));
     }
 
     @Override
@@ -62,21 +75,24 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(
                 () -> new NotFoundException("Бронирование не найдено!"));
 
-        if (booking.getItem().getOwner().getId() == userId) {
-            if (approved) {
-                if (booking.getStatus().equals(BookingStatus.APPROVED)) {
-                    throw new InvalidStateException("Бронирование уже подтверждено!");
-                } else {
-                    booking.setStatus(BookingStatus.APPROVED);
-                }
-            } else {
-                booking.setStatus(BookingStatus.REJECTED);
+        if (booking.getItem().getOwner().getId() != userId) {
+            throw new NotFoundException("Пользователь не является хозяином вещи!");
+        }
+
+        Booking savedBooking;
+        if (approved) {
+            if (booking.getStatus().equals(BookingStatus.APPROVED)) {
+                throw new InvalidStateException("Бронирование уже подтверждено!");
             }
+            booking.setStatus(BookingStatus.APPROVED);
+            savedBooking = bookingAvailabilityIndex.reserve(booking, bookingRepository::save);
         } else {
-            throw new NotFoundException("Пользователь не является хозяином вещи!");
+            booking.setStatus(BookingStatus.REJECTED);
+            savedBooking = bookingAvailabilityIndex.release(booking, bookingRepository::save);
         }
+        itemAvailabilityCalendar.evict(savedBooking.getItem().getId());
 
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        return BookingMapper.toBookingDto(savedBooking);
     }
 
     @Override
@@ -84,9 +100,6 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(
                 () -> new NotFoundException("Бронирование не найдено!"));
 
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден!"));
-
         if (booking.getBooker().getId() == userId || booking.getItem().getOwner().getId() == userId) {
             return BookingMapper.toBookingDto(booking);
         } else {
@@ -96,65 +109,69 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingResponseDto> findBookingsByBooker(long bookerId, String state, int from, int size) {
-        User user = userRepository.findById(bookerId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден!"));
+        Pageable pageable = OffsetPageRequest.of(from, size);
+        BookingState bookingState = toBookingState(state);
+        LocalDateTime now = LocalDateTime.now();
 
-        Pageable pageable = PageRequest.of(from / size, size);
-
-        switch (state.toUpperCase()) {
-            case "ALL":
-                return bookingRepository.findByBookerIdOrderByStartDesc(bookerId, pageable)
-                        .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
-            case "CURRENT":
-                return bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfter(bookerId,
-                                LocalDateTime.now(), LocalDateTime.now(), pageable)
-                        .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
-            case "PAST":
-                return bookingRepository.findByBookerIdAndEndIsBeforeOrderByStartDesc(bookerId, LocalDateTime.now(), pageable)
-                        .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
-            case "FUTURE":
-                return bookingRepository.findByBookerIdAndStartIsAfterOrderByStartDesc(bookerId, LocalDateTime.now(), pageable)
-                        .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
-            case "WAITING":
-                return bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.WAITING, pageable)
-                        .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
-            case "REJECTED":
-                return bookingRepository.findByBookerIdAndStatus(bookerId, BookingStatus.REJECTED, pageable)
-                        .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
-            default:
-                throw new InvalidStateException("Unknown state: UNSUPPORTED_STATUS");
+        if (bookingListProjection) {
+            return bookingRepository.findBookerBookingDtos(bookerId, bookingState, now, pageable);
         }
+        return bookingRepository.findBookerBookings(bookerId, bookingState, now, pageable)
+                .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
     }
 
     @Override
     public List<BookingResponseDto> findBookingsByOwner(long ownerId, String state, int from, int size) {
-        User user = userRepository.findById(ownerId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден!"));
+        Pageable pageable = OffsetPageRequest.of(from, size);
+        BookingState bookingState = toBookingState(state);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (bookingListProjection) {
+            return bookingRepository.findOwnerBookingDtos(ownerId, bookingState, now, pageable);
+        }
+        return bookingRepository.findOwnerBookings(ownerId, bookingState, now, pageable)
+                .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BookingResponseDto> findBookingsByBooker(long bookerId, String state, String after, int size) {
+        BookingState bookingState = toBookingState(state);
+        KeysetCursor cursor = KeysetCursor.parse(after);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (bookingListProjection) {
+            return bookingRepository.findBookerBookingDtos(bookerId, bookingState, now, cursor, size);
+        }
+        return bookingRepository.findBookerBookings(bookerId, bookingState, now, cursor, size)
+                .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BookingResponseDto> findBookingsByOwner(long ownerId, String state, String after, int size) {
+        BookingState bookingState = toBookingState(state);
+        KeysetCursor cursor = KeysetCursor.parse(after);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (bookingListProjection) {
+            return bookingRepository.findOwnerBookingDtos(ownerId, bookingState, now, cursor, size);
+        }
+        return bookingRepository.findOwnerBookings(ownerId, bookingState, now, cursor, size)
+                .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+    }
+
+    @Override
+    public StreamingResponseBody exportBookingsByOwner(long ownerId, String state, BookingExportFormat format) {
+        BookingState bookingState = toBookingState(state);
+        LocalDateTime now = LocalDateTime.now();
+
+        return outputStream -> bookingExporter.exportOwnerBookings(ownerId, bookingState, now, format, outputStream);
+    }
 
-        Pageable pageable = PageRequest.of(from / size, size);
-
-        switch (state.toUpperCase()) {
-            case "ALL":
-                return bookingRepository.findByItemOwnerIdOrderByStartDesc(ownerId, pageable)
-                        .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
-            case "CURRENT":
-                return bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(ownerId,
-                                LocalDateTime.now(), LocalDateTime.now(), pageable)
-                        .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
-            case "PAST":
-                return bookingRepository.findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(ownerId, LocalDateTime.now(), pageable)
-                        .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
-            case "FUTURE":
-                return bookingRepository.findByItemOwnerIdAndStartIsAfterOrderByStartDesc(ownerId, LocalDateTime.now(), pageable)
-                        .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
-            case "WAITING":
-                return bookingRepository.findByItemOwnerIdAndStatus(ownerId, BookingStatus.WAITING, pageable)
-                        .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
-            case "REJECTED":
-                return bookingRepository.findByItemOwnerIdAndStatus(ownerId, BookingStatus.REJECTED, pageable)
-                        .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
-            default:
-                throw new InvalidStateException("Unknown state: UNSUPPORTED_STATUS");
+    private BookingState toBookingState(String state) {
+        try {
+            return BookingState.valueOf(state.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidStateException("Unknown state: UNSUPPORTED_STATUS");
         }
     }
 
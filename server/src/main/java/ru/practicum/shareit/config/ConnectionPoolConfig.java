@@ -0,0 +1,75 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.Map;
+
+@Slf4j
+@Configuration
+public class ConnectionPoolConfig {
+
+    private static final String PREFIX = "shareit.connection-pool";
+    private static final String POSTGRESQL_URL_PREFIX = "jdbc:postgresql:";
+
+    @Bean
+    public static BeanPostProcessor connectionPoolCustomizer(Environment environment) {
+        ConnectionPoolProperties properties = Binder.get(environment).bind(PREFIX, ConnectionPoolProperties.class)
+                .orElseGet(ConnectionPoolProperties::new);
+        boolean explicitPoolSize = environment.containsProperty("spring.datasource.hikari.maximum-pool-size");
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource) {
+                    customize((HikariDataSource) bean, properties, explicitPoolSize);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportSettings(ApplicationReadyEvent event) {
+        HikariDataSource hikari = DataSourceUnwrapper.unwrap(event.getApplicationContext().getBean(DataSource.class),
+                HikariConfigMXBean.class, HikariDataSource.class);
+        if (hikari != null) {
+            log.info("Пул соединений {}: ядер={}, maximumPoolSize={}, minimumIdle={}, connectionTimeout={} мс, " +
+                            "свойства драйвера={}", hikari.getPoolName(), Runtime.getRuntime().availableProcessors(),
+                    hikari.getMaximumPoolSize(), hikari.getMinimumIdle(), hikari.getConnectionTimeout(),
+                    hikari.getDataSourceProperties());
+        }
+
+        Map<String, Object> hibernate = event.getApplicationContext().getBean(EntityManagerFactory.class)
+                .getProperties();
+        log.info("Hibernate JDBC: batch_size={}, order_inserts={}, order_updates={}, batch_versioned_data={}, " +
+                        "in_clause_parameter_padding={}, format_sql={}",
+                hibernate.get(AvailableSettings.STATEMENT_BATCH_SIZE), hibernate.get(AvailableSettings.ORDER_INSERTS),
+                hibernate.get(AvailableSettings.ORDER_UPDATES), hibernate.get(AvailableSettings.BATCH_VERSIONED_DATA),
+                hibernate.get(AvailableSettings.IN_CLAUSE_PARAMETER_PADDING),
+                hibernate.get(AvailableSettings.FORMAT_SQL));
+    }
+
+    private static void customize(HikariDataSource dataSource, ConnectionPoolProperties properties,
+                                  boolean explicitPoolSize) {
+        if (properties.getConnectionsPerCore() != null && !explicitPoolSize) {
+            dataSource.setMaximumPoolSize(Runtime.getRuntime().availableProcessors()
+                    * properties.getConnectionsPerCore() + properties.getEffectiveSpindleCount());
+        }
+        if (dataSource.getJdbcUrl() != null && dataSource.getJdbcUrl().startsWith(POSTGRESQL_URL_PREFIX)) {
+            properties.getPostgresqlProperties().forEach(dataSource::addDataSourceProperty);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+public class ConnectionPoolProperties {
+    private Integer connectionsPerCore;
+    private int effectiveSpindleCount = 1;
+    private Map<String, String> postgresqlProperties = new LinkedHashMap<>();
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+@EnableConfigurationProperties(HibernateCacheProperties.class)
+public class HibernateCacheConfig {
+
+    public static final String USERS_REGION = "users";
+    public static final String ITEMS_REGION = "items";
+    public static final String ITEM_REQUESTS_REGION = "item-requests";
+    public static final String COMMENTS_REGION = "comments";
+    public static final String ITEMS_BY_REQUEST_REGION = "items-by-request";
+    public static final String COMMENTS_BY_ITEM_REGION = "comments-by-item";
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(HibernateCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("shareit-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        properties.getRegions().forEach((region, maximumSize) -> cacheManager.createCache(region,
+                regionConfiguration(OptionalLong.of(maximumSize), properties.getExpireAfterWrite())));
+        if (!properties.getRegions().containsKey(QUERY_RESULTS_REGION)) {
+            cacheManager.createCache(QUERY_RESULTS_REGION,
+                    regionConfiguration(OptionalLong.of(1_000), properties.getExpireAfterWrite()));
+        }
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, regionConfiguration(OptionalLong.empty(), null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> hibernateCacheManager.getCacheNames().forEach(
+                name -> JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name)));
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(OptionalLong maximumSize,
+                                                                           Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maximumSize);
+        if (expireAfterWrite != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.hibernate-cache")
+public class HibernateCacheProperties {
+    private Duration expireAfterWrite = Duration.ofHours(1);
+    private Map<String, Long> regions = new LinkedHashMap<>();
+}
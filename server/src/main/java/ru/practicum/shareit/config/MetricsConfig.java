@@ -0,0 +1,34 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.metrics.SqlStatementCounter;
+import ru.practicum.shareit.metrics.SqlStatementInterceptor;
+import ru.practicum.shareit.metrics.SqlStatementMetricsFilter;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource) {
+                    return SqlStatementInterceptor.intercept((DataSource) bean, sql -> SqlStatementCounter.increment());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementMetricsFilter> sqlStatementMetricsFilter(MeterRegistry meterRegistry) {
+        return new FilterRegistrationBean<>(new SqlStatementMetricsFilter(meterRegistry));
+    }
+}
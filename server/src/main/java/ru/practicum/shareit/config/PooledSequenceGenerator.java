@@ -0,0 +1,27 @@
+package ru.practicum.shareit.config;
+
+import org.hibernate.MappingException;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Hands out ids from a block of {@link #ALLOCATION_SIZE} values per sequence round-trip. The block size is fixed: it
+ * has to match the {@code INCREMENT BY} the sequences were created with in V5, which Flyway applies only once, so
+ * changing it takes a new migration altering every {@code *_seq} increment together with this constant.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String STRATEGY = "ru.practicum.shareit.config.PooledSequenceGenerator";
+    public static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        params.setProperty(INCREMENT_PARAM, String.valueOf(ALLOCATION_SIZE));
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
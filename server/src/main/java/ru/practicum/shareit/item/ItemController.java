@@ -1,12 +1,17 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.AvailabilityPeriodDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingAndCommentsDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.RequestUserId;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,38 +22,60 @@ public class ItemController {
     private final ItemService itemService;
 
     @PostMapping
-    public ItemDto saveItem(@RequestHeader("X-Sharer-User-Id") long userId, @RequestBody ItemDto itemDto) {
+    public ItemDto saveItem(@RequestUserId long userId, @RequestBody ItemDto itemDto) {
         return itemService.saveItem(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public List<ItemImportResultDto> importItems(@RequestUserId long userId, @RequestBody List<ItemDto> itemDtos) {
+        return itemService.importItems(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
-    public ItemDto updateItem(@RequestHeader("X-Sharer-User-Id") long userId, @RequestBody ItemDto itemDto,
+    public ItemDto updateItem(@RequestUserId long userId, @RequestBody ItemDto itemDto,
                               @PathVariable long itemId) {
         return itemService.updateItem(itemDto, itemId, userId);
     }
 
     @GetMapping("/{itemId}")
     public ItemWithBookingAndCommentsDto findItemById(@PathVariable long itemId,
-                                                      @RequestHeader("X-Sharer-User-Id") long userId) {
+                                                      @RequestUserId long userId) {
         return itemService.findItemById(itemId, userId);
     }
 
     @GetMapping
-    public List<ItemWithBookingAndCommentsDto> findItemsByUser(@RequestHeader("X-Sharer-User-Id") long userId,
+    public List<ItemWithBookingAndCommentsDto> findItemsByUser(@RequestUserId long userId,
                                                                @RequestParam(required = false, defaultValue = "0") int from,
+                                                               @RequestParam(required = false) Long after,
                                                                @RequestParam(required = false, defaultValue = "10") int size) {
+        if (after != null) {
+            return itemService.findItemsByUser(userId, after, size);
+        }
         return itemService.findItemsByUser(userId, from, size);
     }
 
     @GetMapping("/search")
     public List<ItemDto> searchItems(@RequestParam String text,
                                      @RequestParam(required = false, defaultValue = "0") int from,
+                                     @RequestParam(required = false) Long after,
                                      @RequestParam(required = false, defaultValue = "10") int size) {
+        if (after != null) {
+            return itemService.searchItems(text, after, size);
+        }
         return itemService.searchItems(text, from, size);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public List<AvailabilityPeriodDto> findItemAvailability(@PathVariable long itemId,
+                                                            @RequestParam(required = false)
+                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                            @RequestParam(required = false)
+                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return itemService.findItemAvailability(itemId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public CommentDto addComment(@RequestHeader("X-Sharer-User-Id") long userId,
+    public CommentDto addComment(@RequestUserId long userId,
                                  @RequestBody CommentDto commentDto, @PathVariable long itemId) {
         return itemService.addComment(userId, commentDto, itemId);
     }
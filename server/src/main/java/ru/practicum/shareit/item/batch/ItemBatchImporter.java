@@ -0,0 +1,130 @@
+package ru.practicum.shareit.item.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBatchImporter {
+
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final TransactionTemplate transactionTemplate;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${shareit.item-import.chunk-size}")
+    private int chunkSize;
+    @Value("${shareit.item-import.batch-size}")
+    private int batchSize;
+
+    public List<ItemImportResultDto> importItems(long ownerId, List<ItemDto> itemDtos) {
+        Set<Long> existingRequestIds = findExistingRequestIds(itemDtos);
+        ItemImportResultDto[] results = new ItemImportResultDto[itemDtos.size()];
+        List<Integer> chunk = new ArrayList<>(chunkSize);
+
+        for (int row = 0; row < itemDtos.size(); row++) {
+            Long requestId = itemDtos.get(row).getRequestId();
+            if (requestId != null && !existingRequestIds.contains(requestId)) {
+                results[row] = ItemImportResultDto.failed(row, "Запрос не найден!");
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(ownerId, itemDtos, chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(ownerId, itemDtos, chunk, results);
+        }
+
+        return List.of(results);
+    }
+
+    private Set<Long> findExistingRequestIds(List<ItemDto> itemDtos) {
+        List<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Set<Long> existingIds = new HashSet<>();
+        for (int from = 0; from < requestIds.size(); from += chunkSize) {
+            existingIds.addAll(itemRequestRepository.findIdsByIdIn(
+                    requestIds.subList(from, Math.min(from + chunkSize, requestIds.size()))));
+        }
+        return existingIds;
+    }
+
+    private void importChunk(long ownerId, List<ItemDto> itemDtos, List<Integer> rows,
+                             ItemImportResultDto[] results) {
+        List<ItemDto> savedItems;
+        try {
+            savedItems = persist(ownerId, rows.stream().map(itemDtos::get).collect(Collectors.toList()));
+        } catch (DataAccessException | PersistenceException e) {
+            if (rows.size() > 1) {
+                log.warn("Не удалось сохранить пакет из {} вещей, сохраняем по одной: {}", rows.size(),
+                        e.getMessage());
+                for (Integer row : rows) {
+                    importChunk(ownerId, itemDtos, List.of(row), results);
+                }
+            } else {
+                results[rows.get(0)] = ItemImportResultDto.failed(rows.get(0), "Не удалось сохранить вещь!");
+            }
+            return;
+        }
+
+        for (int i = 0; i < rows.size(); i++) {
+            results[rows.get(i)] = ItemImportResultDto.imported(rows.get(i), savedItems.get(i).getId());
+        }
+        itemSearchEngine.indexAll(savedItems);
+    }
+
+    private List<ItemDto> persist(long ownerId, List<ItemDto> itemDtos) {
+        return transactionTemplate.execute(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            session.setJdbcBatchSize(batchSize);
+            session.setCacheMode(CacheMode.IGNORE);
+
+            User owner = entityManager.getReference(User.class, ownerId);
+            List<Item> items = new ArrayList<>(itemDtos.size());
+            for (ItemDto itemDto : itemDtos) {
+                Item item = ItemMapper.toItem(itemDto, owner);
+                if (itemDto.getRequestId() != null) {
+                    item.setRequest(entityManager.getReference(ItemRequest.class, itemDto.getRequestId()));
+                }
+                entityManager.persist(item);
+                items.add(item);
+            }
+            entityManager.flush();
+            entityManager.clear();
+
+            return items.stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
+        });
+    }
+}
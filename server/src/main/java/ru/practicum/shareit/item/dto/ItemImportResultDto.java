@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemImportResultDto {
+    private int row;
+    private Long id;
+    private String error;
+
+    public static ItemImportResultDto imported(int row, long id) {
+        return new ItemImportResultDto(row, id, null);
+    }
+
+    public static ItemImportResultDto failed(int row, String error) {
+        return new ItemImportResultDto(row, null, error);
+    }
+}
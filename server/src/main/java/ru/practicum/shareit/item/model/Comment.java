@@ -4,6 +4,13 @@ import lombok.Generated;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import ru.practicum.shareit.config.HibernateCacheConfig;
+import ru.practicum.shareit.config.PooledSequenceGenerator;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
@@ -11,13 +18,16 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.COMMENTS_REGION)
 @Table(name = "comments", schema = "public")
 @Getter
 @Setter
 @ToString
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @GenericGenerator(name = "comments_seq", strategy = PooledSequenceGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "comments_seq"))
     @Column(name = "comment_id")
     private Long id;
     @Column(nullable = false)
@@ -1,15 +1,27 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.config.HibernateCacheConfig;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @QueryHints({@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHE_REGION,
+                    value = HibernateCacheConfig.COMMENTS_BY_ITEM_REGION)})
+    @EntityGraph(attributePaths = "author")
+    @Query("select c from Comment c " +
+            "where c.item.id = ?1")
     List<Comment> findByItemId(long itemId);
 
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByItemIn(List<Item> items);
 }
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingResponseForItemDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingAndCommentsDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class ItemDetailsRepository {
+
+    private static final String FIND_ITEM_DETAILS = "select i.item_id, i.item_name, i.description, i.is_available, " +
+            "lb.booking_id as last_booking_id, lb.booker_id as last_booker_id, " +
+            "nb.booking_id as next_booking_id, nb.booker_id as next_booker_id, " +
+            "c.comment_id, c.text, u.user_name as author_name, c.created " +
+            "from items i " +
+            "left join (select b.booking_id, b.booker_id, " +
+            "row_number() over (order by b.start_date desc) as position " +
+            "from bookings b " +
+            "where b.item_id = :itemId and b.status = :status and b.start_date <= :now) lb " +
+            "on lb.position = 1 and i.owner_id = :userId " +
+            "left join (select b.booking_id, b.booker_id, " +
+            "row_number() over (order by b.start_date asc) as position " +
+            "from bookings b " +
+            "where b.item_id = :itemId and b.status = :status and b.start_date >= :now) nb " +
+            "on nb.position = 1 and i.owner_id = :userId " +
+            "left join comments c on c.item_id = i.item_id " +
+            "left join users u on u.user_id = c.author_id " +
+            "where i.item_id = :itemId " +
+            "order by c.comment_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Optional<ItemWithBookingAndCommentsDto> findItemDetails(long itemId, long userId, LocalDateTime now) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("itemId", itemId)
+                .addValue("userId", userId)
+                .addValue("status", BookingStatus.APPROVED.name())
+                .addValue("now", now);
+
+        return Optional.ofNullable(jdbcTemplate.query(FIND_ITEM_DETAILS, parameters, itemDetailsExtractor()));
+    }
+
+    private ResultSetExtractor<ItemWithBookingAndCommentsDto> itemDetailsExtractor() {
+        return rs -> {
+            ItemWithBookingAndCommentsDto item = null;
+            while (rs.next()) {
+                if (item == null) {
+                    item = new ItemWithBookingAndCommentsDto();
+                    item.setId(rs.getLong("item_id"));
+                    item.setName(rs.getString("item_name"));
+                    item.setDescription(rs.getString("description"));
+                    item.setAvailable(rs.getBoolean("is_available"));
+                    long lastBookingId = rs.getLong("last_booking_id");
+                    if (!rs.wasNull()) {
+                        item.setLastBooking(new BookingResponseForItemDto(lastBookingId, rs.getLong("last_booker_id")));
+                    }
+                    long nextBookingId = rs.getLong("next_booking_id");
+                    if (!rs.wasNull()) {
+                        item.setNextBooking(new BookingResponseForItemDto(nextBookingId, rs.getLong("next_booker_id")));
+                    }
+                    item.setComments(new ArrayList<>());
+                }
+                long commentId = rs.getLong("comment_id");
+                if (!rs.wasNull()) {
+                    item.getComments().add(new CommentDto(commentId, rs.getString("text"),
+                            rs.getString("author_name"), rs.getObject("created", LocalDateTime.class)));
+                }
+            }
+            return item;
+        };
+    }
+}
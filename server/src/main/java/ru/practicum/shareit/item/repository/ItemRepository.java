@@ -1,25 +1,62 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.config.HibernateCacheConfig;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    @EntityGraph(attributePaths = {"owner", "request", "request.requester"})
+    @Query("select i from Item i " +
+            "where i.owner.id = ?1 " +
+            "order by i.id")
     List<Item> findByOwnerIdOrderByIdAsc(long userId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"owner", "request", "request.requester"})
+    @Query("select i from Item i " +
+            "where i.owner.id = ?1 and i.id > ?2 " +
+            "order by i.id")
+    List<Item> findByOwnerIdAndIdGreaterThanOrderByIdAsc(long userId, long id, Pageable pageable);
+
     @Query("select i from Item i " +
             "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
             "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
-            "and i.available = true ")
+            "and i.available = true " +
+            "order by i.id")
     List<Item> searchItems(String text, Pageable pageable);
 
+    @Query("select i from Item i " +
+            "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            "and i.available = true " +
+            "and i.id > ?2 " +
+            "order by i.id")
+    List<Item> searchItemsAfter(String text, long id, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, r.id) " +
+            "from Item i left join i.request r " +
+            "where i.id > ?1 " +
+            "order by i.id")
+    List<ItemDto> findItemDtosAfter(long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "owner")
     List<Item> findByRequestIn(List<ItemRequest> requestList);
 
+    @QueryHints({@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHE_REGION,
+                    value = HibernateCacheConfig.ITEMS_BY_REQUEST_REGION)})
+    @EntityGraph(attributePaths = "owner")
+    @Query("select i from Item i " +
+            "where i.request.id = ?1")
     List<Item> findByRequestId(long requestId);
 }
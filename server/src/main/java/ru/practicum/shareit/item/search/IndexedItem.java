@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Getter
+class IndexedItem {
+    private final ItemDto item;
+    private final String name;
+    private final String description;
+
+    IndexedItem(ItemDto item) {
+        this.item = item;
+        this.name = InvertedIndexItemSearchEngine.normalize(item.getName());
+        this.description = InvertedIndexItemSearchEngine.normalize(item.getDescription());
+    }
+
+    Set<String> getGrams() {
+        Set<String> grams = new HashSet<>(InvertedIndexItemSearchEngine.grams(name));
+        grams.addAll(InvertedIndexItemSearchEngine.grams(description));
+        return grams;
+    }
+
+    boolean matches(String query) {
+        return Boolean.TRUE.equals(item.getAvailable()) && (name.contains(query) || description.contains(query));
+    }
+}
@@ -0,0 +1,209 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search.engine", havingValue = "index", matchIfMissing = true)
+public class InvertedIndexItemSearchEngine implements ItemSearchEngine {
+
+    private static final int WARM_UP_BATCH_SIZE = 10_000;
+    static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedItem> documents = new HashMap<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final PostingList allIds = new PostingList();
+
+    @PostConstruct
+    @Override
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            allIds.clear();
+            long lastId = 0;
+            List<ItemDto> batch;
+            do {
+                batch = itemRepository.findItemDtosAfter(lastId, PageRequest.of(0, WARM_UP_BATCH_SIZE));
+                for (ItemDto itemDto : batch) {
+                    add(itemDto);
+                    lastId = itemDto.getId();
+                }
+            } while (batch.size() == WARM_UP_BATCH_SIZE);
+            log.info("Поисковый индекс вещей построен: вещей={}, триграмм={}", documents.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(ItemDto itemDto) {
+        lock.writeLock().lock();
+        try {
+            remove(itemDto.getId());
+            add(itemDto);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void indexAll(Collection<ItemDto> itemDtos) {
+        lock.writeLock().lock();
+        try {
+            for (ItemDto itemDto : itemDtos) {
+                remove(itemDto.getId());
+                add(itemDto);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ItemDto> search(String text, Pageable pageable) {
+        return search(text, 0, pageable.getOffset(), pageable.getPageSize());
+    }
+
+    @Override
+    public List<ItemDto> search(String text, long afterId, int size) {
+        return search(text, afterId, 0, size);
+    }
+
+    private List<ItemDto> search(String text, long afterId, long skip, int size) {
+        String query = normalize(text);
+        Set<String> queryGrams = grams(query);
+
+        lock.readLock().lock();
+        try {
+            List<ItemDto> result = new ArrayList<>();
+            List<PostingList> postingLists = findPostingLists(queryGrams);
+            if (postingLists == null) {
+                return result;
+            }
+            PostingList driver = postingLists.isEmpty() ? allIds : postingLists.get(0);
+            for (int i = driver.indexAfter(afterId); i < driver.size(); i++) {
+                long id = driver.get(i);
+                if (!containsAll(postingLists, id)) {
+                    continue;
+                }
+                IndexedItem document = documents.get(id);
+                if (!document.matches(query)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                result.add(copy(document.getItem()));
+                if (result.size() == size) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Posting lists of the query trigrams, shortest first, or {@code null} when some trigram occurs in no item. The
+     * search walks the shortest list in id order and probes the others, so it stops as soon as the page is full
+     * instead of intersecting whole lists.
+     */
+    private List<PostingList> findPostingLists(Set<String> queryGrams) {
+        List<PostingList> postingLists = new ArrayList<>(queryGrams.size());
+        for (String gram : queryGrams) {
+            PostingList postingList = postings.get(gram);
+            if (postingList == null) {
+                return null;
+            }
+            postingLists.add(postingList);
+        }
+        postingLists.sort(Comparator.comparingInt(PostingList::size));
+        return postingLists;
+    }
+
+    private static boolean containsAll(List<PostingList> postingLists, long id) {
+        for (int i = 1; i < postingLists.size(); i++) {
+            if (!postingLists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(ItemDto itemDto) {
+        IndexedItem document = new IndexedItem(copy(itemDto));
+        documents.put(itemDto.getId(), document);
+        allIds.add(itemDto.getId());
+        for (String gram : document.getGrams()) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(itemDto.getId());
+        }
+    }
+
+    private void remove(long id) {
+        IndexedItem document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        allIds.remove(id);
+        for (String gram : document.getGrams()) {
+            PostingList postingList = postings.get(gram);
+            postingList.remove(id);
+            if (postingList.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static ItemDto copy(ItemDto itemDto) {
+        return new ItemDto(itemDto.getId(), itemDto.getName(), itemDto.getDescription(), itemDto.getAvailable(),
+                itemDto.getRequestId());
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    static Set<String> tokenize(String normalizedText) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : normalizedText.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Character trigrams of every word of the text. A substring match of the query contains each word of the query
+     * inside one word of the text, so an item matching the query has all trigrams of the query. Words shorter than a
+     * trigram add nothing: a query made of such words alone is checked against every item.
+     */
+    static Set<String> grams(String normalizedText) {
+        Set<String> grams = new HashSet<>();
+        for (String token : tokenize(normalizedText)) {
+            for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+                grams.add(token.substring(i, i + GRAM_LENGTH));
+            }
+        }
+        return grams;
+    }
+}
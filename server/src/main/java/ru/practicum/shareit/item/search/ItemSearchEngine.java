@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemSearchEngine {
+    List<ItemDto> search(String text, Pageable pageable);
+
+    List<ItemDto> search(String text, long afterId, int size);
+
+    void index(ItemDto itemDto);
+
+    void indexAll(Collection<ItemDto> itemDtos);
+
+    void rebuild();
+}
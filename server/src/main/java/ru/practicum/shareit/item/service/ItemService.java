@@ -1,14 +1,19 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.booking.dto.AvailabilityPeriodDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingAndCommentsDto;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface ItemService {
     ItemDto saveItem(long userId, ItemDto itemDto);
 
+    List<ItemImportResultDto> importItems(long userId, List<ItemDto> itemDtos);
+
     ItemDto updateItem(ItemDto itemDto, long itemId, long userId);
 
     ItemWithBookingAndCommentsDto findItemById(long itemId, long userId);
@@ -17,5 +22,11 @@ public interface ItemService {
 
     List<ItemDto> searchItems(String text, int from, int size);
 
+    List<ItemWithBookingAndCommentsDto> findItemsByUser(long userId, Long after, int size);
+
+    List<ItemDto> searchItems(String text, Long after, int size);
+
+    List<AvailabilityPeriodDto> findItemAvailability(long itemId, LocalDate from, LocalDate to);
+
     CommentDto addComment(long userId, CommentDto commentDto, long itemId);
 }
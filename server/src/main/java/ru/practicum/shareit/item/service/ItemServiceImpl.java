@@ -1,30 +1,40 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityCalendar;
+import ru.practicum.shareit.booking.dto.AvailabilityPeriodDto;
 import ru.practicum.shareit.booking.dto.BookingResponseForItemDto;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.batch.ItemBatchImporter;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingAndCommentsDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemDetailsRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -33,11 +43,20 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
 
+    private static final int DEFAULT_CALENDAR_DAYS = 90;
+    private static final int MAX_CALENDAR_DAYS = 366;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemDetailsRepository itemDetailsRepository;
+    private final ItemAvailabilityCalendar itemAvailabilityCalendar;
+    private final ItemBatchImporter itemBatchImporter;
+    @Value("${shareit.item-details.projection}")
+    private boolean itemDetailsProjection;
 
 
     @Override
@@ -53,7 +72,18 @@ public class ItemServiceImpl implements ItemService {
             item.setRequest(itemRequest);
         }
 
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        ItemDto savedItem = ItemMapper.toItemDto(itemRepository.save(item));
+        itemSearchEngine.index(savedItem);
+
+        return savedItem;
+    }
+
+    @Override
+    public List<ItemImportResultDto> importItems(long userId, List<ItemDto> itemDtos) {
+        User user = userRepository.findById(userId).orElseThrow(
+                () -> new NotFoundException("Пользователь не найден!"));
+
+        return itemBatchImporter.importItems(user.getId(), itemDtos);
     }
 
     @Override
@@ -74,11 +104,19 @@ public class ItemServiceImpl implements ItemService {
             updatedItem.setAvailable(itemDto.getAvailable());
         }
 
-        return ItemMapper.toItemDto(itemRepository.save(updatedItem));
+        ItemDto savedItem = ItemMapper.toItemDto(itemRepository.save(updatedItem));
+        itemSearchEngine.index(savedItem);
+
+        return savedItem;
     }
 
     @Override
     public ItemWithBookingAndCommentsDto findItemById(long itemId, long userId) {
+        if (itemDetailsProjection) {
+            return itemDetailsRepository.findItemDetails(itemId, userId, LocalDateTime.now()).orElseThrow(
+                    () -> new NotFoundException("Вещь не найдена!"));
+        }
+
         Item item = itemRepository.findById(itemId).orElseThrow(
                 () -> new NotFoundException("Вещь не найдена!"));
 
@@ -95,17 +133,32 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public List<ItemWithBookingAndCommentsDto> findItemsByUser(long userId, int from, int size) {
-        Pageable pageable = PageRequest.of(from / size, size);
+        Pageable pageable = OffsetPageRequest.of(from, size);
 
-        List<Item> itemList = itemRepository.findByOwnerIdOrderByIdAsc(userId, pageable);
+        return toItemsWithBookingsAndComments(itemRepository.findByOwnerIdOrderByIdAsc(userId, pageable));
+    }
 
-        Map<Long, List<Booking>> lastBookingsMap = bookingRepository.findByItemInAndStartLessThanEqualOrderByStartDesc(
-                        itemList, LocalDateTime.now())
-                .stream().collect(Collectors.groupingBy(booking -> booking.getItem().getId(), Collectors.toList()));
+    @Override
+    public List<ItemWithBookingAndCommentsDto> findItemsByUser(long userId, Long after, int size) {
+        return toItemsWithBookingsAndComments(
+                itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(userId, after, PageRequest.of(0, size)));
+    }
 
-        Map<Long, List<Booking>> nextBookingsMap = bookingRepository.findByItemInAndStartGreaterThanEqualOrderByStartAsc(
-                        itemList, LocalDateTime.now())
-                .stream().collect(Collectors.groupingBy(booking -> booking.getItem().getId(), Collectors.toList()));
+    private List<ItemWithBookingAndCommentsDto> toItemsWithBookingsAndComments(List<Item> itemList) {
+        if (itemList.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, BookingResponseForItemDto> lastBookingsMap = new HashMap<>();
+        Map<Long, BookingResponseForItemDto> nextBookingsMap = new HashMap<>();
+        for (ItemBookingView booking : bookingRepository.findLastAndNextApprovedBookings(
+                itemList.stream().map(Item::getId).collect(Collectors.toList()), LocalDateTime.now())) {
+            if (booking.getNextBooking()) {
+                nextBookingsMap.put(booking.getItemId(), BookingMapper.toBookingResponseForItemDto(booking));
+            } else {
+                lastBookingsMap.put(booking.getItemId(), BookingMapper.toBookingResponseForItemDto(booking));
+            }
+        }
 
         Map<Long, List<Comment>> commentMap = commentRepository.findByItemIn(itemList)
                 .stream().collect(Collectors.groupingBy(comment -> comment.getItem().getId(), Collectors.toList()));
@@ -114,17 +167,9 @@ public class ItemServiceImpl implements ItemService {
                 .map(ItemMapper::itemWithBookingAndCommentsDto).collect(Collectors.toList());
 
         for (ItemWithBookingAndCommentsDto item : itemWithBookingAndCommentsDtoList) {
-            List<Booking> lastBookingsList = lastBookingsMap.get(item.getId());
-            List<Booking> nextBookingsList = nextBookingsMap.get(item.getId());
             List<Comment> commentsList = commentMap.get(item.getId());
-            if (Objects.nonNull(lastBookingsList) && !lastBookingsList.isEmpty()) {
-                item.setLastBooking(BookingMapper.toBookingResponseForItemDto(lastBookingsList.get(0)));
-            }
-            if (Objects.nonNull(nextBookingsList) && !nextBookingsList.isEmpty()) {
-                if (nextBookingsList.get(0).getStatus().equals(BookingStatus.APPROVED)) {
-                    item.setNextBooking(BookingMapper.toBookingResponseForItemDto(nextBookingsList.get(0)));
-                }
-            }
+            item.setLastBooking(lastBookingsMap.get(item.getId()));
+            item.setNextBooking(nextBookingsMap.get(item.getId()));
             if (Objects.nonNull(commentsList)) {
                 item.setComments(commentsList.stream().map(CommentMapper::toCommentDto).collect(Collectors.toList()));
             } else {
@@ -137,15 +182,39 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public List<ItemDto> searchItems(String text, int from, int size) {
-        Pageable pageable = PageRequest.of(from / size, size);
+        Pageable pageable = OffsetPageRequest.of(from, size);
+
+        if (!text.isBlank()) {
+            return itemSearchEngine.search(text, pageable);
+        } else {
+            return new ArrayList<>();
+        }
+    }
 
+    @Override
+    public List<ItemDto> searchItems(String text, Long after, int size) {
         if (!text.isBlank()) {
-            return itemRepository.searchItems(text, pageable).stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
+            return itemSearchEngine.search(text, after, size);
         } else {
             return new ArrayList<>();
         }
     }
 
+    @Override
+    public List<AvailabilityPeriodDto> findItemAvailability(long itemId, LocalDate from, LocalDate to) {
+        LocalDate start = from == null ? LocalDate.now() : from;
+        LocalDate end = to == null ? start.plusDays(DEFAULT_CALENDAR_DAYS - 1) : to;
+
+        if (end.isBefore(start)) {
+            throw new ValidationException("Дата окончания периода не может быть раньше даты начала!");
+        }
+        if (start.plusDays(MAX_CALENDAR_DAYS).isBefore(end)) {
+            throw new ValidationException("Период не может быть длиннее " + MAX_CALENDAR_DAYS + " дней!");
+        }
+
+        return itemAvailabilityCalendar.findPeriods(itemId, start.atStartOfDay(), end.plusDays(1).atStartOfDay());
+    }
+
     @Override
     public CommentDto addComment(long userId, CommentDto commentDto, long itemId) {
         User user = userRepository.findById(userId).orElseThrow(
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MethodTimingAspect {
+
+    public static final String SERVICE_TIMER = "shareit.service.invocations";
+    public static final String REPOSITORY_TIMER = "shareit.repository.invocations";
+
+    private static final String NONE = "none";
+    private static final String INVALID = "INVALID";
+    private static final String STATE_PARAMETER = "state";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("@within(org.springframework.stereotype.Service) && within(ru.practicum.shareit..*)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName(), joinPoint);
+    }
+
+    @Around("this(org.springframework.data.repository.Repository) && !execution(* java.lang.Object.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(),
+                MethodTimingAspect::repositoryName), joinPoint);
+    }
+
+    private Object time(String timerName, String className, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(timerName)
+                    .tag("class", className)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("state", state((MethodSignature) joinPoint.getSignature(), joinPoint.getArgs()))
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String state(MethodSignature signature, Object[] args) {
+        String[] parameterNames = signature.getParameterNames();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof BookingState) {
+                return ((BookingState) args[i]).name();
+            }
+            if (args[i] instanceof String && parameterNames != null
+                    && STATE_PARAMETER.equals(parameterNames[i])) {
+                String state = ((String) args[i]).toUpperCase();
+                return Arrays.stream(BookingState.values()).anyMatch(value -> value.name().equals(state))
+                        ? state
+                        : INVALID;
+            }
+        }
+        return NONE;
+    }
+
+    private static String repositoryName(Class<?> proxyClass) {
+        return ClassUtils.getAllInterfacesForClassAsSet(proxyClass).stream()
+                .filter(Repository.class::isAssignableFrom)
+                .filter(type -> type.getName().startsWith("ru.practicum.shareit."))
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(proxyClass.getSimpleName());
+    }
+}
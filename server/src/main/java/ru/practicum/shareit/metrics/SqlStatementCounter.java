@@ -0,0 +1,26 @@
+package ru.practicum.shareit.metrics;
+
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<long[]> STATEMENTS = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static void start() {
+        STATEMENTS.set(new long[1]);
+    }
+
+    public static void increment() {
+        long[] statements = STATEMENTS.get();
+        if (statements != null) {
+            statements[0]++;
+        }
+    }
+
+    public static long stop() {
+        long[] statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements == null ? 0 : statements[0];
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.metrics;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Wraps a {@link DataSource} so that every statement executed over its connections is reported to a listener before
+ * it goes to the database, whether it was sent by Hibernate, a {@code JdbcTemplate} or Flyway. A batch is reported
+ * once, as it is one round-trip.
+ */
+public final class SqlStatementInterceptor {
+
+    private static final String BATCH = "<batch>";
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private SqlStatementInterceptor() {
+    }
+
+    public static DataSource intercept(DataSource dataSource, Consumer<String> listener) {
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection ? connection((Connection) result, listener) : result;
+        });
+    }
+
+    private static Connection connection(Connection connection, Consumer<String> listener) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            if (result instanceof CallableStatement) {
+                return statement(CallableStatement.class, (CallableStatement) result, sql, listener);
+            }
+            if (result instanceof PreparedStatement) {
+                return statement(PreparedStatement.class, (PreparedStatement) result, sql, listener);
+            }
+            if (result instanceof Statement) {
+                return statement(Statement.class, (Statement) result, null, listener);
+            }
+            return result;
+        });
+    }
+
+    private static <S extends Statement> S statement(Class<S> type, S statement, String preparedSql,
+                                                     Consumer<String> listener) {
+        return proxy(type, statement, (target, method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                if (args != null && args.length > 0 && args[0] instanceof String) {
+                    listener.accept((String) args[0]);
+                } else {
+                    listener.accept(preparedSql != null ? preparedSql : BATCH);
+                }
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return handler.handle(target, method, args);
+            }
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler<T> {
+        Object handle(T target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class KeysetCursor {
+    private final LocalDateTime position;
+    private final long id;
+
+    public static KeysetCursor parse(String after) {
+        int separator = after.lastIndexOf(',');
+        if (separator < 0) {
+            throw new ValidationException("Некорректный курсор: " + after);
+        }
+        try {
+            return new KeysetCursor(LocalDateTime.parse(after.substring(0, separator).trim()),
+                    Long.parseLong(after.substring(separator + 1).trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new ValidationException("Некорректный курсор: " + after);
+        }
+    }
+}
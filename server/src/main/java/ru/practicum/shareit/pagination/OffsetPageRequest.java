@@ -0,0 +1,48 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.data.domain.AbstractPageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+public class OffsetPageRequest extends AbstractPageRequest {
+    private final long offset;
+
+    private OffsetPageRequest(long offset, int size) {
+        super((int) (offset / size), size);
+        this.offset = offset;
+    }
+
+    public static OffsetPageRequest of(long from, int size) {
+        return new OffsetPageRequest(from, size);
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return Sort.unsorted();
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + getPageSize(), getPageSize());
+    }
+
+    @Override
+    public Pageable previous() {
+        return new OffsetPageRequest(Math.max(0, offset - getPageSize()), getPageSize());
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, getPageSize());
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * getPageSize(), getPageSize());
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemResponseDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.RequestUserId;
 
 import java.util.List;
 
@@ -17,25 +18,29 @@ public class ItemRequestController {
     private final ItemRequestService itemRequestService;
 
     @PostMapping
-    public ItemResponseDto createRequest(@RequestHeader("X-Sharer-User-Id") long userId,
+    public ItemResponseDto createRequest(@RequestUserId long userId,
                                          @RequestBody ItemRequestDto itemRequestDto) {
         return itemRequestService.createRequest(userId, itemRequestDto);
     }
 
     @GetMapping
-    public List<ItemResponseDto> findRequestsByRequester(@RequestHeader("X-Sharer-User-Id") long userId) {
+    public List<ItemResponseDto> findRequestsByRequester(@RequestUserId long userId) {
         return itemRequestService.findRequestsByRequester(userId);
     }
 
     @GetMapping("/all")
-    public List<ItemResponseDto> findAllRequests(@RequestHeader("X-Sharer-User-Id") long userId,
+    public List<ItemResponseDto> findAllRequests(@RequestUserId long userId,
                                                  @RequestParam(required = false, defaultValue = "0") int from,
+                                                 @RequestParam(required = false) String after,
                                                  @RequestParam(required = false, defaultValue = "10") int size) {
+        if (after != null) {
+            return itemRequestService.findAllRequests(userId, after, size);
+        }
         return itemRequestService.findAllRequests(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
-    public ItemResponseDto findRequestById(@RequestHeader("X-Sharer-User-Id") long userId,
+    public ItemResponseDto findRequestById(@RequestUserId long userId,
                                            @PathVariable long requestId) {
         return itemRequestService.findRequestById(userId, requestId);
     }
@@ -1,15 +1,38 @@
 package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    @EntityGraph(attributePaths = "requester")
+    @Query("select r from ItemRequest r " +
+            "where r.requester.id = ?1 " +
+            "order by r.created desc")
     List<ItemRequest> findByRequesterIdOrderByCreatedDesc(long userId);
 
-    List<ItemRequest> findByRequesterIdNotOrderByCreatedDesc(long userId, Pageable pageable);
+    @EntityGraph(attributePaths = "requester")
+    @Query("select r from ItemRequest r " +
+            "where r.requester.id <> ?1 " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequest> findByRequesterIdNotOrderByCreatedDescIdDesc(long userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "requester")
+    @Query("select r from ItemRequest r " +
+            "where r.requester.id <> ?1 " +
+            "and r.created <= ?2 and (r.created < ?2 or r.id < ?3) " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequest> findOtherRequestsBefore(long userId, LocalDateTime created, long id, Pageable pageable);
+
+    @Query("select r.id from ItemRequest r " +
+            "where r.id in ?1")
+    List<Long> findIdsByIdIn(Collection<Long> ids);
 }
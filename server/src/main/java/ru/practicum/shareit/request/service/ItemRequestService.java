@@ -12,5 +12,7 @@ public interface ItemRequestService {
 
     List<ItemResponseDto> findAllRequests(long userId, int from, int size);
 
+    List<ItemResponseDto> findAllRequests(long userId, String after, int size);
+
     ItemResponseDto findRequestById(long userId, long requestId);
 }
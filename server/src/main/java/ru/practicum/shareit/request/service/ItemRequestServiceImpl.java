@@ -9,6 +9,8 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemResponseDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
@@ -48,9 +50,6 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemResponseDto> findRequestsByRequester(long userId) {
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден!"));
-
         List<ItemRequest> itemRequestsList = itemRequestRepository.findByRequesterIdOrderByCreatedDesc(userId);
 
         List<ItemResponseDto> itemResponseList = itemRequestsList.stream().map(ItemRequestMapper::toItemResponseDto).collect(Collectors.toList());
@@ -68,13 +67,20 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemResponseDto> findAllRequests(long userId, int from, int size) {
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден!"));
+        Pageable pageable = OffsetPageRequest.of(from, size);
+
+        return toItemResponseList(itemRequestRepository.findByRequesterIdNotOrderByCreatedDescIdDesc(userId, pageable));
+    }
 
-        Pageable pageable = PageRequest.of(from / size, size);
+    @Override
+    public List<ItemResponseDto> findAllRequests(long userId, String after, int size) {
+        KeysetCursor cursor = KeysetCursor.parse(after);
 
-        List<ItemRequest> itemRequestsList = itemRequestRepository.findByRequesterIdNotOrderByCreatedDesc(userId, pageable);
+        return toItemResponseList(itemRequestRepository.findOtherRequestsBefore(
+                userId, cursor.getPosition(), cursor.getId(), PageRequest.of(0, size)));
+    }
 
+    private List<ItemResponseDto> toItemResponseList(List<ItemRequest> itemRequestsList) {
         List<ItemResponseDto> itemResponseList = itemRequestsList.stream().map(ItemRequestMapper::toItemResponseDto).collect(Collectors.toList());
 
         Map<Long, List<Item>> itemsByRequest = itemRepository.findByRequestIn(itemRequestsList)
@@ -90,9 +96,6 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public ItemResponseDto findRequestById(long userId, long requestId) {
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException("Пользователь не найден!"));
-
         ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(
                 () -> new NotFoundException("Запрос вещи не найден!"));
         ItemResponseDto itemResponseDto = ItemRequestMapper.toItemResponseDto(itemRequest);
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.user.service.UserExistenceValidator;
+
+@Component
+@RequiredArgsConstructor
+public class RequestUserIdArgumentResolver implements HandlerMethodArgumentResolver {
+
+    public static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final UserExistenceValidator userExistenceValidator;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(RequestUserId.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+        String header = webRequest.getHeader(USER_ID_HEADER);
+        if (header == null) {
+            throw new MissingRequestHeaderException(USER_ID_HEADER, parameter);
+        }
+
+        long userId;
+        try {
+            userId = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Некорректный идентификатор пользователя: " + header);
+        }
+
+        userExistenceValidator.validate(userId);
+        return userId;
+    }
+}
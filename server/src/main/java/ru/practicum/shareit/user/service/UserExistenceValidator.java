@@ -0,0 +1,45 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+
+@Component
+public class UserExistenceValidator {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> knownUsers;
+
+    public UserExistenceValidator(UserRepository userRepository,
+                                  @Value("${shareit.user-cache.maximum-size}") long maximumSize,
+                                  @Value("${shareit.user-cache.expire-after-write}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.knownUsers = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public void validate(long userId) {
+        if (knownUsers.getIfPresent(userId) != null) {
+            return;
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("Пользователь не найден!");
+        }
+        knownUsers.put(userId, Boolean.TRUE);
+    }
+
+    public void register(long userId) {
+        knownUsers.put(userId, Boolean.TRUE);
+    }
+
+    public void evict(long userId) {
+        knownUsers.invalidate(userId);
+    }
+}
@@ -18,13 +18,16 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserExistenceValidator userExistenceValidator;
 
     @Override
     public UserDto saveUser(UserDto userDto) {
         User user = UserMapper.toUser(userDto);
 
         try {
-            return UserMapper.toUserDto(userRepository.save(user));
+            User savedUser = userRepository.save(user);
+            userExistenceValidator.register(savedUser.getId());
+            return UserMapper.toUserDto(savedUser);
         } catch (DataIntegrityViolationException e) {
             throw new DuplicateEmailException("Пользователь с таким email уже существует!");
         }
@@ -44,6 +47,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteUser(long userId) {
         userRepository.deleteById(userId);
+        userExistenceValidator.evict(userId);
     }
 
     @Override
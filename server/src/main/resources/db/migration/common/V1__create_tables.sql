@@ -1,11 +1,3 @@
-DROP TABLE IF EXISTS comments;
-DROP TABLE IF EXISTS bookings;
-DROP TABLE IF EXISTS items;
-DROP TABLE IF EXISTS requests;
-DROP TABLE IF EXISTS users;
-
-
-
 CREATE TABLE IF NOT EXISTS users (
 user_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
 user_name VARCHAR(255) NOT NULL,
@@ -45,10 +37,3 @@ item_id BIGINT REFERENCES items (item_id),
 author_id BIGINT REFERENCES users (user_id),
 created TIMESTAMP WITHOUT TIME ZONE NOT NULL
 );
-
-
-
-
-
-
-
@@ -0,0 +1,14 @@
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id, item_id);
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_requests_requester_id ON requests (requester_id, created DESC);
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created DESC, request_id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id ON bookings (booker_id, start_date DESC, booking_id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id_status ON bookings (booker_id, status, start_date DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id_end_date ON bookings (booker_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id ON bookings (item_id, start_date DESC, booking_id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_status ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_booker_id ON bookings (item_id, booker_id, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id, comment_id);
@@ -0,0 +1,46 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Rejects every active booking that overlaps an active booking of the same item which takes precedence: APPROVED
+-- before WAITING, then the lowest booking_id. Conflicting bookings are visited in that order, so a booking is only
+-- rejected while the one it clashes with is still kept, and the result does not depend on the physical row order.
+DO
+$$
+    DECLARE
+        b        RECORD;
+        rejected BIGINT[] := '{}';
+    BEGIN
+        FOR b IN SELECT c.booking_id, c.item_id, c.start_date, c.end_date, c.status
+                 FROM bookings c
+                 WHERE c.status IN ('WAITING', 'APPROVED')
+                   AND EXISTS(SELECT 1
+                              FROM bookings o
+                              WHERE o.item_id = c.item_id
+                                AND o.booking_id <> c.booking_id
+                                AND o.status IN ('WAITING', 'APPROVED')
+                                AND tsrange(o.start_date, o.end_date) && tsrange(c.start_date, c.end_date))
+                 ORDER BY c.status = 'WAITING', c.booking_id
+            LOOP
+                UPDATE bookings
+                SET status = 'REJECTED'
+                WHERE booking_id = b.booking_id
+                  AND EXISTS(SELECT 1
+                             FROM bookings o
+                             WHERE o.item_id = b.item_id
+                               AND o.booking_id <> b.booking_id
+                               AND (o.status = 'APPROVED' AND b.status = 'WAITING'
+                                 OR o.status = b.status AND o.booking_id < b.booking_id)
+                               AND tsrange(o.start_date, o.end_date) && tsrange(b.start_date, b.end_date));
+                IF FOUND THEN
+                    rejected := rejected || b.booking_id;
+                END IF;
+            END LOOP;
+        IF cardinality(rejected) > 0 THEN
+            RAISE WARNING 'Rejected % overlapping bookings: %', cardinality(rejected), rejected;
+        END IF;
+    END
+$$;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT bookings_item_id_period_excl
+        EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+        WHERE (status IN ('WAITING', 'APPROVED'));
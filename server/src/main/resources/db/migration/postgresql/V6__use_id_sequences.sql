@@ -0,0 +1,19 @@
+SELECT setval('users_seq', COALESCE(MAX(user_id), 0) + 1, false) FROM users;
+ALTER TABLE users ALTER COLUMN user_id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN user_id SET DEFAULT nextval('users_seq');
+
+SELECT setval('requests_seq', COALESCE(MAX(request_id), 0) + 1, false) FROM requests;
+ALTER TABLE requests ALTER COLUMN request_id DROP IDENTITY IF EXISTS;
+ALTER TABLE requests ALTER COLUMN request_id SET DEFAULT nextval('requests_seq');
+
+SELECT setval('items_seq', COALESCE(MAX(item_id), 0) + 1, false) FROM items;
+ALTER TABLE items ALTER COLUMN item_id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN item_id SET DEFAULT nextval('items_seq');
+
+SELECT setval('bookings_seq', COALESCE(MAX(booking_id), 0) + 1, false) FROM bookings;
+ALTER TABLE bookings ALTER COLUMN booking_id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN booking_id SET DEFAULT nextval('bookings_seq');
+
+SELECT setval('comments_seq', COALESCE(MAX(comment_id), 0) + 1, false) FROM comments;
+ALTER TABLE comments ALTER COLUMN comment_id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN comment_id SET DEFAULT nextval('comments_seq');
@@ -0,0 +1,60 @@
+package ru.practicum.shareit;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import ru.practicum.shareit.config.ConnectionPoolConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConnectionPoolConfigTests {
+
+    @Test
+    void poolIsSizedFromCoreCountTest() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("shareit.connection-pool.connections-per-core", "2")
+                .withProperty("shareit.connection-pool.effective-spindle-count", "1");
+
+        HikariDataSource dataSource = customize(environment, "jdbc:h2:mem:pool");
+
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(Runtime.getRuntime().availableProcessors() * 2 + 1);
+    }
+
+    @Test
+    void explicitPoolSizeIsKeptTest() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("shareit.connection-pool.connections-per-core", "2")
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "7");
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:pool");
+        dataSource.setMaximumPoolSize(7);
+
+        ConnectionPoolConfig.connectionPoolCustomizer(environment).postProcessBeforeInitialization(dataSource,
+                "dataSource");
+
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(7);
+    }
+
+    @Test
+    void postgresqlPropertiesAreAppliedOnlyToPostgresqlTest() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("shareit.connection-pool.postgresql-properties.prepareThreshold", "1")
+                .withProperty("shareit.connection-pool.postgresql-properties.reWriteBatchedInserts", "true");
+
+        HikariDataSource postgresql = customize(environment, "jdbc:postgresql://localhost:5432/shareit");
+        HikariDataSource h2 = customize(environment, "jdbc:h2:mem:pool");
+
+        assertThat(postgresql.getDataSourceProperties())
+                .containsEntry("prepareThreshold", "1")
+                .containsEntry("reWriteBatchedInserts", "true");
+        assertThat(h2.getDataSourceProperties()).isEmpty();
+    }
+
+    private HikariDataSource customize(MockEnvironment environment, String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        ConnectionPoolConfig.connectionPoolCustomizer(environment).postProcessBeforeInitialization(dataSource,
+                "dataSource");
+        return dataSource;
+    }
+}
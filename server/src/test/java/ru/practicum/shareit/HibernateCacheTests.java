@@ -0,0 +1,104 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemResponseDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class HibernateCacheTests {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRequestService itemRequestService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findUserByIdIsServedFromCacheTest() {
+        UserDto user = userService.saveUser(new UserDto(0, "Влад", "vlad@yandex.ru"));
+        userService.findUserById(user.getId());
+        statistics.clear();
+
+        assertThat(userService.findUserById(user.getId()).getName()).isEqualTo("Влад");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateUserInvalidatesCacheTest() {
+        UserDto user = userService.saveUser(new UserDto(0, "Влад", "vlad@yandex.ru"));
+        userService.findUserById(user.getId());
+
+        userService.updateUser(new UserDto(0, "Стас", null), user.getId());
+
+        assertThat(userService.findUserById(user.getId()).getName()).isEqualTo("Стас");
+    }
+
+    @Test
+    void updateItemInvalidatesCacheTest() {
+        UserDto owner = userService.saveUser(new UserDto(0, "Влад", "vlad@yandex.ru"));
+        ItemDto item = itemService.saveItem(owner.getId(), new ItemDto(0, "Лодка", "Резиновая", true, null));
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getAvailable()).isTrue();
+
+        itemService.updateItem(new ItemDto(0, null, null, false, null), item.getId(), owner.getId());
+
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getAvailable()).isFalse();
+    }
+
+    @Test
+    void findRequestItemsIsCachedUntilItemAddedTest() {
+        UserDto requester = userService.saveUser(new UserDto(0, "Влад", "vlad@yandex.ru"));
+        UserDto owner = userService.saveUser(new UserDto(0, "Стас", "stas@yandex.ru"));
+        ItemResponseDto request = itemRequestService.createRequest(requester.getId(),
+                new ItemRequestDto("Нужна лодка"));
+        itemService.saveItem(owner.getId(), new ItemDto(0, "Лодка", "Резиновая", true, request.getId()));
+        itemRequestService.findRequestById(requester.getId(), request.getId());
+        statistics.clear();
+
+        assertThat(itemRequestService.findRequestById(requester.getId(), request.getId()).getItems()).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        itemService.saveItem(owner.getId(), new ItemDto(0, "Байдарка", "Надувная", true, request.getId()));
+
+        assertThat(itemRequestService.findRequestById(requester.getId(), request.getId()).getItems()).hasSize(2);
+    }
+
+    @Test
+    void cacheRegionsAreExposedAsMetersTest() {
+        assertThat(meterRegistry.find("cache.gets").tag("cache", "users").functionCounter()).isNotNull();
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", "items").functionCounter()).isNotNull();
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests").tag("region", "items").meters())
+                .isNotEmpty();
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.metrics.MethodTimingAspect;
+import ru.practicum.shareit.metrics.SqlStatementMetricsFilter;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class MetricsTests {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void serviceAndRepositoryMethodsAreTimedByStateTest() throws Exception {
+        UserDto booker = userService.saveUser(new UserDto(0, "Влад", "vlad@yandex.ru"));
+
+        mockMvc.perform(get("/bookings").param("state", "waiting").header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk());
+
+        Timer service = meterRegistry.find(MethodTimingAspect.SERVICE_TIMER)
+                .tags("class", "BookingServiceImpl", "method", "findBookingsByBooker", "state", "WAITING",
+                        "exception", "none")
+                .timer();
+        Timer repository = meterRegistry.find(MethodTimingAspect.REPOSITORY_TIMER)
+                .tags("class", "BookingRepository", "method", "findBookerBookingDtos", "state", "WAITING")
+                .timer();
+        assertThat(service).isNotNull();
+        assertThat(service.count()).isEqualTo(1);
+        assertThat(repository).isNotNull();
+        assertThat(repository.count()).isEqualTo(1);
+        assertThat(meterRegistry.find(MethodTimingAspect.SERVICE_TIMER)
+                .tags("class", "UserServiceImpl", "method", "saveUser", "state", "none").timer()).isNotNull();
+    }
+
+    @Test
+    void unknownStateIsTaggedAsInvalidTest() throws Exception {
+        UserDto booker = userService.saveUser(new UserDto(0, "Влад", "vlad@yandex.ru"));
+
+        mockMvc.perform(get("/bookings").param("state", "UNSUPPORTED").header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isBadRequest());
+
+        assertThat(meterRegistry.find(MethodTimingAspect.SERVICE_TIMER)
+                .tags("method", "findBookingsByBooker", "state", "INVALID", "exception", "InvalidStateException")
+                .timer()).isNotNull();
+    }
+
+    @Test
+    void sqlStatementsAreCountedPerRequestTest() throws Exception {
+        UserDto booker = userService.saveUser(new UserDto(0, "Влад", "vlad@yandex.ru"));
+
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find(SqlStatementMetricsFilter.SQL_STATEMENTS_SUMMARY)
+                .tags("method", "GET", "uri", "/bookings", "status", "200")
+                .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void jdbcTemplateStatementsAreCountedPerRequestTest() throws Exception {
+        UserDto owner = userService.saveUser(new UserDto(0, "Влад", "vlad@yandex.ru"));
+        ItemDto item = itemService.saveItem(owner.getId(), new ItemDto(0, "Дрель", "Ударная", true, null));
+
+        mockMvc.perform(get("/items/{itemId}", item.getId()).header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find(SqlStatementMetricsFilter.SQL_STATEMENTS_SUMMARY)
+                .tags("method", "GET", "uri", "/items/{itemId}", "status", "200")
+                .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void metricsAreExposedForPrometheusTest() throws Exception {
+        UserDto booker = userService.saveUser(new UserDto(0, "Влад", "vlad@yandex.ru"));
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", booker.getId()));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_invocations_seconds_bucket")))
+                .andExpect(content().string(containsString("shareit_repository_invocations_seconds{")))
+                .andExpect(content().string(containsString("shareit_http_sql_statements_count")));
+    }
+}
@@ -0,0 +1,185 @@
+package ru.practicum.shareit;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemDetailsRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.support.SqlStatementRecorder;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:query-plan;MODE=PostgreSQL")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SqlStatementRecorder.class, ItemDetailsRepository.class})
+public class QueryPlanTests {
+
+    private static final Pattern FULL_INDEX_SCAN = Pattern.compile("/\\* PUBLIC\\.\\w+ \\*/");
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemDetailsRepository itemDetailsRepository;
+
+    private User user;
+    private Item item;
+    private ItemRequest itemRequest;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Влад");
+        user.setEmail("vlad@yandex.ru");
+        entityManager.persist(user);
+
+        itemRequest = new ItemRequest();
+        itemRequest.setDescription("Нужен шкаф");
+        itemRequest.setRequester(user);
+        itemRequest.setCreated(now);
+        entityManager.persist(itemRequest);
+
+        item = new Item();
+        item.setName("Шкаф");
+        item.setDescription("Большой шкаф");
+        item.setAvailable(true);
+        item.setOwner(user);
+        item.setRequest(itemRequest);
+        entityManager.persist(item);
+
+        Booking booking = new Booking();
+        booking.setStart(now.minusDays(1));
+        booking.setEnd(now.plusDays(1));
+        booking.setItem(item);
+        booking.setBooker(user);
+        booking.setStatus(BookingStatus.APPROVED);
+        entityManager.persist(booking);
+
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementRecorder.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementRecorder.stop();
+    }
+
+    @Test
+    void bookingRepositoryQueriesUseIndexes() {
+        for (BookingState state : BookingState.values()) {
+            bookingRepository.findBookerBookings(user.getId(), state, now, PageRequest.of(0, 10));
+            bookingRepository.findOwnerBookings(user.getId(), state, now, PageRequest.of(0, 10));
+            bookingRepository.findBookerBookings(user.getId(), state, now, new KeysetCursor(now, 1), 10);
+            bookingRepository.findOwnerBookings(user.getId(), state, now, new KeysetCursor(now, 1), 10);
+            bookingRepository.findBookerBookingDtos(user.getId(), state, now, PageRequest.of(0, 10));
+            bookingRepository.findOwnerBookingDtos(user.getId(), state, now, PageRequest.of(0, 10));
+            bookingRepository.findBookerBookingDtos(user.getId(), state, now, new KeysetCursor(now, 1), 10);
+            bookingRepository.findOwnerBookingDtos(user.getId(), state, now, new KeysetCursor(now, 1), 10);
+            try (Stream<BookingResponseDto> bookings = bookingRepository.streamOwnerBookings(user.getId(), state, now,
+                    100)) {
+                bookings.forEach(booking -> { });
+            }
+        }
+        bookingRepository.findFirstByItemIdAndStartLessThanEqualAndStatusOrderByStartDesc(
+                item.getId(), now, BookingStatus.APPROVED);
+        bookingRepository.findFirstByItemIdAndStartGreaterThanEqualAndStatusOrderByStartAsc(
+                item.getId(), now, BookingStatus.APPROVED);
+        bookingRepository.findByItemIdAndBookerIdAndEndIsBeforeAndStatus(
+                item.getId(), user.getId(), now, BookingStatus.APPROVED);
+        bookingRepository.findLastAndNextApprovedBookings(List.of(item.getId()), now);
+        bookingRepository.findBookingIntervals(item.getId(), List.of(BookingStatus.WAITING, BookingStatus.APPROVED),
+                now);
+        bookingRepository.findBookingIntervalsBetween(item.getId(), BookingStatus.APPROVED, now, now.plusDays(90));
+
+        assertNoTableScans();
+    }
+
+    @Test
+    void itemRepositoryQueriesUseIndexes() {
+        itemRepository.findByOwnerIdOrderByIdAsc(user.getId(), PageRequest.of(0, 10));
+        itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(user.getId(), 0, PageRequest.of(0, 10));
+        itemRepository.findItemDtosAfter(0, PageRequest.of(0, 10));
+        itemRepository.findByRequestIn(List.of(itemRequest));
+        itemRepository.findByRequestId(itemRequest.getId());
+        itemDetailsRepository.findItemDetails(item.getId(), user.getId(), now);
+
+        assertNoTableScans();
+    }
+
+    @Test
+    void commentRepositoryQueriesUseIndexes() {
+        commentRepository.findByItemId(item.getId());
+        commentRepository.findByItemIn(List.of(item));
+
+        assertNoTableScans();
+    }
+
+    @Test
+    void itemRequestRepositoryQueriesUseIndexes() {
+        itemRequestRepository.findByRequesterIdOrderByCreatedDesc(user.getId());
+        itemRequestRepository.findByRequesterIdNotOrderByCreatedDescIdDesc(user.getId(), PageRequest.of(0, 10));
+        itemRequestRepository.findOtherRequestsBefore(user.getId(), now, 1, PageRequest.of(0, 10));
+        itemRequestRepository.findIdsByIdIn(List.of(itemRequest.getId()));
+
+        assertNoTableScans();
+    }
+
+    private void assertNoTableScans() {
+        List<String> statements = SqlStatementRecorder.stop();
+        assertThat(statements).isNotEmpty();
+        entityManager.getEntityManager().unwrap(Session.class).doWork(connection -> {
+            for (String sql : statements) {
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                    for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                        statement.setObject(i, null);
+                    }
+                    try (ResultSet plan = statement.executeQuery()) {
+                        plan.next();
+                        assertIndexed(sql, plan.getString(1));
+                    }
+                }
+            }
+        });
+    }
+
+    private void assertIndexed(String sql, String plan) {
+        assertThat(plan).as(sql).doesNotContain("tableScan");
+        if (!plan.contains("/* index sorted */") || !sql.contains(" limit ")) {
+            assertThat(FULL_INDEX_SCAN.matcher(plan).find()).as(sql + "\n" + plan).isFalse();
+        }
+    }
+}
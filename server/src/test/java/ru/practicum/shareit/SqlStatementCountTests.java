@@ -0,0 +1,210 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.support.SqlStatementRecorder;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceValidator;
+
+import javax.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:sql-statement-count;MODE=PostgreSQL")
+@AutoConfigureMockMvc
+@Import(SqlStatementRecorder.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SqlStatementCountTests {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private UserExistenceValidator userExistenceValidator;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private final List<User> requesters = new ArrayList<>();
+    private final List<User> bookers = new ArrayList<>();
+    private final List<Item> items = new ArrayList<>();
+    private final List<ItemRequest> itemRequests = new ArrayList<>();
+    private final List<Booking> waitingBookings = new ArrayList<>();
+
+    @BeforeAll
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        owner = userRepository.save(createUser("Влад", "vlad@yandex.ru"));
+        User anotherOwner = userRepository.save(createUser("Стас", "stas@yandex.ru"));
+        for (int i = 0; i < ROWS; i++) {
+            requesters.add(userRepository.save(createUser("Заказчик " + i, "requester" + i + "@yandex.ru")));
+            bookers.add(userRepository.save(createUser("Арендатор " + i, "booker" + i + "@yandex.ru")));
+        }
+
+        for (int i = 0; i < ROWS; i++) {
+            ItemRequest itemRequest = new ItemRequest();
+            itemRequest.setDescription("Нужна дрель " + i);
+            itemRequest.setRequester(requesters.get(i));
+            itemRequest.setCreated(now.minusHours(i));
+            itemRequests.add(itemRequestRepository.save(itemRequest));
+
+            items.add(itemRepository.save(createItem("Дрель " + i, owner, itemRequest)));
+            itemRepository.save(createItem("Шуруповёрт " + i, anotherOwner, itemRequest));
+        }
+
+        for (Item item : items) {
+            for (int i = 0; i < ROWS; i++) {
+                User booker = bookers.get(i);
+                bookingRepository.save(createBooking(now.minusDays(i + 2), now.minusDays(i + 1), item, booker,
+                        BookingStatus.APPROVED));
+                waitingBookings.add(bookingRepository.save(createBooking(now.plusDays(i + 1), now.plusDays(i + 2),
+                        item, booker, BookingStatus.WAITING)));
+
+                Comment comment = new Comment();
+                comment.setText("Отличная дрель");
+                comment.setItem(item);
+                comment.setAuthor(booker);
+                comment.setCreated(now.minusDays(1));
+                commentRepository.save(comment);
+            }
+        }
+    }
+
+    @BeforeEach
+    void evictCaches() {
+        entityManagerFactory.getCache().evictAll();
+        userExistenceValidator.evict(owner.getId());
+        requesters.forEach(user -> userExistenceValidator.evict(user.getId()));
+        bookers.forEach(user -> userExistenceValidator.evict(user.getId()));
+    }
+
+    @Test
+    void userEndpointsTest() throws Exception {
+        assertStatements(1, get("/users/{userId}", owner.getId()));
+        assertStatements(1, get("/users"));
+        assertStatements(2, post("/users").content("{\"name\":\"Новый\",\"email\":\"new@yandex.ru\"}"));
+        assertStatements(2, patch("/users/{userId}", bookers.get(0).getId()).content("{\"name\":\"Арендатор\"}"));
+    }
+
+    @Test
+    void itemEndpointsTest() throws Exception {
+        long itemId = items.get(0).getId();
+
+        assertStatements(2, get("/items/{itemId}", itemId).header("X-Sharer-User-Id", owner.getId()));
+        assertStatements(4, get("/items").param("size", "50").header("X-Sharer-User-Id", owner.getId()));
+        assertStatements(1, get("/items/search").param("text", "дрель").param("size", "50")
+                .header("X-Sharer-User-Id", owner.getId()));
+        assertStatements(2, get("/items/{itemId}/availability", itemId).header("X-Sharer-User-Id", owner.getId()));
+        assertStatements(5, post("/items").header("X-Sharer-User-Id", owner.getId())
+                .content("{\"name\":\"Пила\",\"description\":\"Острая\",\"available\":true,\"requestId\":"
+                        + itemRequests.get(0).getId() + "}"));
+        assertStatements(3, patch("/items/{itemId}", itemId).header("X-Sharer-User-Id", owner.getId())
+                .content("{\"description\":\"Ударная дрель с кейсом\"}"));
+        assertStatements(6, post("/items/{itemId}/comment", itemId)
+                .header("X-Sharer-User-Id", bookers.get(0).getId())
+                .content("{\"text\":\"Спасибо ещё раз\"}"));
+    }
+
+    @Test
+    void bookingEndpointsTest() throws Exception {
+        assertStatements(2, get("/bookings/{bookingId}", waitingBookings.get(0).getId())
+                .header("X-Sharer-User-Id", owner.getId()));
+        assertStatements(2, get("/bookings").param("size", "50").header("X-Sharer-User-Id", bookers.get(0).getId()));
+        for (String state : List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED")) {
+            assertStatements(2, get("/bookings/owner").param("state", state).param("size", "50")
+                    .header("X-Sharer-User-Id", owner.getId()));
+        }
+        assertStatements(6, post("/bookings").header("X-Sharer-User-Id", bookers.get(0).getId())
+                .content("{\"itemId\":" + items.get(1).getId()
+                        + ",\"start\":\"2040-01-01T10:00:00\",\"end\":\"2040-01-02T10:00:00\"}"));
+        assertStatements(4, patch("/bookings/{bookingId}", waitingBookings.get(1).getId())
+                .param("approved", "true").header("X-Sharer-User-Id", owner.getId()));
+    }
+
+    @Test
+    void requestEndpointsTest() throws Exception {
+        assertStatements(3, get("/requests").header("X-Sharer-User-Id", requesters.get(0).getId()));
+        assertStatements(3, get("/requests/all").param("size", "50").header("X-Sharer-User-Id", owner.getId()));
+        assertStatements(3, get("/requests/{requestId}", itemRequests.get(0).getId())
+                .header("X-Sharer-User-Id", owner.getId()));
+        assertStatements(4, post("/requests").header("X-Sharer-User-Id", owner.getId())
+                .content("{\"description\":\"Нужен молоток\"}"));
+    }
+
+    private void assertStatements(int maxStatements, MockHttpServletRequestBuilder request) throws Exception {
+        evictCaches();
+        SqlStatementRecorder.start();
+        List<String> statements;
+        try {
+            mockMvc.perform(request.characterEncoding(StandardCharsets.UTF_8).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+        } finally {
+            statements = SqlStatementRecorder.stop();
+        }
+        SqlStatementRecorder.assertNoRepeatedSelects(statements);
+        SqlStatementRecorder.assertAtMost(statements, maxStatements);
+    }
+
+    private static User createUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return user;
+    }
+
+    private static Item createItem(String name, User owner, ItemRequest itemRequest) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription("Ударная дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item.setRequest(itemRequest);
+        return item;
+    }
+
+    private static Booking createBooking(LocalDateTime start, LocalDateTime end, Item item, User booker,
+                                         BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(status);
+        return booking;
+    }
+}
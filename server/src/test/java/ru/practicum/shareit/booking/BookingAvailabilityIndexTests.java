@@ -0,0 +1,140 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.AvailableException;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingAvailabilityIndexTests {
+
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+    private BookingAvailabilityIndex availabilityIndex;
+    private final AtomicLong ids = new AtomicLong();
+    private final UnaryOperator<Booking> save = booking -> {
+        if (booking.getId() == null) {
+            booking.setId(ids.incrementAndGet());
+        }
+        return booking;
+    };
+
+    @BeforeEach
+    void setUp() {
+        availabilityIndex = new BookingAvailabilityIndex(bookingRepository, 1000, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void adjacentPeriodsDoNotOverlapTest() {
+        availabilityIndex.reserve(createBooking(1, 0, 5), save);
+        availabilityIndex.reserve(createBooking(1, 5, 10), save);
+        availabilityIndex.reserve(createBooking(1, -3, 0), save);
+
+        assertThrows(AvailableException.class, () -> availabilityIndex.reserve(createBooking(1, 4, 6), save));
+        assertThrows(AvailableException.class, () -> availabilityIndex.reserve(createBooking(1, -10, 20), save));
+    }
+
+    @Test
+    void periodsOfOtherItemsDoNotOverlapTest() {
+        availabilityIndex.reserve(createBooking(1, 0, 5), save);
+        availabilityIndex.reserve(createBooking(2, 0, 5), save);
+
+        verify(bookingRepository, times(1)).findBookingIntervals(eq(1L), any(), any());
+        verify(bookingRepository, times(1)).findBookingIntervals(eq(2L), any(), any());
+    }
+
+    @Test
+    void reserveIgnoresOwnPeriodAndReleaseFreesItTest() {
+        Booking booking = availabilityIndex.reserve(createBooking(1, 0, 5), save);
+
+        booking.setStatus(BookingStatus.APPROVED);
+        assertThat(availabilityIndex.reserve(booking, save).getId(), equalTo(booking.getId()));
+
+        booking.setStatus(BookingStatus.REJECTED);
+        availabilityIndex.release(booking, save);
+
+        assertThat(availabilityIndex.reserve(createBooking(1, 2, 3), save).getId(), equalTo(2L));
+    }
+
+    @Test
+    void evictReloadsPeriodsFromRepositoryTest() {
+        availabilityIndex.reserve(createBooking(1, 0, 5), save);
+        availabilityIndex.evict(1);
+        availabilityIndex.reserve(createBooking(1, 0, 5), save);
+
+        verify(bookingRepository, times(2)).findBookingIntervals(anyLong(), any(), any());
+    }
+
+    @Test
+    void expiredScheduleIsReloadedFromRepositoryTest() {
+        availabilityIndex = new BookingAvailabilityIndex(bookingRepository, 1000, Duration.ZERO);
+
+        availabilityIndex.reserve(createBooking(1, 0, 5), save);
+        availabilityIndex.reserve(createBooking(1, 10, 15), save);
+
+        verify(bookingRepository, times(2)).findBookingIntervals(eq(1L), any(), any());
+    }
+
+    @Test
+    void overlapDetectionMatchesBruteForceTest() {
+        Random random = new Random(42);
+        List<Booking> reserved = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            int start = random.nextInt(20_000);
+            Booking booking = createBooking(1, start, start + 1 + random.nextInt(30));
+            boolean expectedOverlap = reserved.stream().anyMatch(other -> overlaps(other, booking));
+            try {
+                reserved.add(availabilityIndex.reserve(booking, save));
+                assertThat(expectedOverlap, equalTo(false));
+            } catch (AvailableException e) {
+                assertThat(expectedOverlap, equalTo(true));
+            }
+            if (!reserved.isEmpty() && random.nextInt(4) == 0) {
+                availabilityIndex.release(reserved.remove(random.nextInt(reserved.size())), save);
+            }
+        }
+    }
+
+    private static boolean overlaps(Booking first, Booking second) {
+        return first.getStart().isBefore(second.getEnd()) && second.getStart().isBefore(first.getEnd());
+    }
+
+    private static Booking createBooking(long itemId, long startHour, long endHour) {
+        Item item = new Item();
+        item.setId(itemId);
+
+        Booking booking = new Booking();
+        booking.setStart(ORIGIN.plusHours(startHour));
+        booking.setEnd(ORIGIN.plusHours(endHour));
+        booking.setItem(item);
+        booking.setStatus(BookingStatus.WAITING);
+
+        return booking;
+    }
+}
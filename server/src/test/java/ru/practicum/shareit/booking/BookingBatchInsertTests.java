@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.config.PooledSequenceGenerator.ALLOCATION_SIZE;
+
+@DataJpaTest
+@ActiveProfiles({"test", "prod"})
+public class BookingBatchInsertTests {
+
+    private static final int BOOKINGS = 1_000;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User booker;
+    private Item item;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User owner = createUser("Влад", "vlad@yandex.ru");
+        entityManager.persist(owner);
+        booker = createUser("Стас", "stas@yandex.ru");
+        entityManager.persist(booker);
+
+        item = new Item();
+        item.setName("Лодка");
+        item.setDescription("Резиновая");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        entityManager.persist(item);
+        entityManager.flush();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void insertBookingsInBatchesTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(createBooking(start.plusDays(i)));
+        }
+
+        bookingRepository.saveAll(bookings);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(BOOKINGS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(BOOKINGS / ALLOCATION_SIZE + 1);
+    }
+
+    @Test
+    void plainSqlInsertsDoNotCollideWithGeneratedIdsTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking first = bookingRepository.save(createBooking(start));
+        entityManager.flush();
+
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?)", start.plusDays(1), start.plusDays(2), item.getId(), booker.getId(), "WAITING");
+        Long plainSqlId = jdbcTemplate.queryForObject("select max(booking_id) from bookings", Long.class);
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 2; i < ALLOCATION_SIZE + 2; i++) {
+            bookings.add(createBooking(start.plusDays(i)));
+        }
+        bookingRepository.saveAll(bookings);
+        entityManager.flush();
+
+        assertThat(plainSqlId).isNotEqualTo(first.getId());
+        assertThat(bookings).extracting(Booking::getId).doesNotContain(plainSqlId);
+        assertThat(bookingRepository.count()).isEqualTo(ALLOCATION_SIZE + 2);
+    }
+
+    private Booking createBooking(LocalDateTime start) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(start.plusHours(1));
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
+    private User createUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return user;
+    }
+}
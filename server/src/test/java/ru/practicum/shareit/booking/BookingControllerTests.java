@@ -1,35 +1,48 @@
 package ru.practicum.shareit.booking;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.export.BookingExportFormat;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.user.service.UserExistenceValidator;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
 public class BookingControllerTests {
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     @Autowired
     private MockMvc mockMvc;
     @Autowired
     private ObjectMapper objectMapper;
     @MockBean
     private BookingService bookingService;
+    @MockBean
+    private UserExistenceValidator userExistenceValidator;
 
     @Test
     void createBookingTest() throws Exception {
@@ -128,6 +141,25 @@ public class BookingControllerTests {
         verify(bookingService, times(1)).findBookingsByBooker(eq(userId), eq("ALL"), anyInt(), anyInt());
     }
 
+    @Test
+    void findBookingsByBookerWithCursorTest() throws Exception {
+        long userId = 1;
+        String after = "2023-05-01T10:00:00,15";
+
+        when(bookingService.findBookingsByBooker(eq(userId), any(), eq(after), anyInt()))
+                .thenReturn(List.of(createBookingResponseDto(14)));
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("after", after)
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(14));
+
+        verify(bookingService, times(1)).findBookingsByBooker(eq(userId), eq("ALL"), eq(after), eq(5));
+        verify(bookingService, never()).findBookingsByBooker(anyLong(), any(), anyInt(), anyInt());
+    }
+
     @Test
     void findBookingsByOwnerTest() throws Exception {
         long ownerId = 1;
@@ -155,6 +187,71 @@ public class BookingControllerTests {
         verify(bookingService, times(1)).findBookingsByOwner(eq(ownerId), eq("ALL"), anyInt(), anyInt());
     }
 
+    @Test
+    void createBookingWithSmileTest() throws Exception {
+        long userId = 1;
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+
+        BookingRequestDto bookingRequestDto = createBookingRequestDto(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(5), 1);
+
+        BookingResponseDto bookingResponseDto = createBookingResponseDto(1);
+        bookingResponseDto.setStart(bookingRequestDto.getStart());
+        bookingResponseDto.setEnd(bookingRequestDto.getEnd());
+
+        when(bookingService.createBooking(userId, bookingRequestDto)).thenReturn(bookingResponseDto);
+
+        byte[] response = mockMvc.perform(post("/bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .content(smileMapper.writeValueAsBytes(bookingRequestDto))
+                        .contentType(SMILE)
+                        .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(smileMapper.readValue(response, BookingResponseDto.class), equalTo(bookingResponseDto));
+    }
+
+    @Test
+    void findBookingsWithoutAcceptHeaderReturnsJsonTest() throws Exception {
+        long userId = 1;
+
+        when(bookingService.findBookingsByBooker(eq(userId), any(), anyInt(), anyInt())).thenReturn(List.of());
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void exportBookingsByOwnerTest() throws Exception {
+        long ownerId = 1;
+        StreamingResponseBody body = outputStream -> outputStream.write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+
+        when(bookingService.exportBookingsByOwner(ownerId, "ALL", BookingExportFormat.CSV)).thenReturn(body);
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", ownerId))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"bookings.csv\""))
+                .andExpect(content().string("id\n1\n"));
+    }
+
+    @Test
+    void exportBookingsWithUnknownFormatTest() throws Exception {
+        mockMvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingService, never()).exportBookingsByOwner(anyLong(), any(), any());
+    }
+
     private BookingRequestDto createBookingRequestDto(LocalDateTime start, LocalDateTime end, long itemId) {
         BookingRequestDto bookingRequestDto = new BookingRequestDto();
         bookingRequestDto.setStart(start);
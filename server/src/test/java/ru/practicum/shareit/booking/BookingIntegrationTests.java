@@ -1,25 +1,38 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.export.BookingExportFormat;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exception.AvailableException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -34,6 +47,8 @@ public class BookingIntegrationTests {
     private ItemRepository itemRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Test
     void findBookingsByBookerTest() {
@@ -115,6 +130,104 @@ public class BookingIntegrationTests {
         assertThat(rejected).contains(BookingMapper.toBookingDto(rejectedBooking));
     }
 
+    @Test
+    void exportBookingsByOwnerAsCsvTest() throws Exception {
+        User owner = createUser("Влад", "vlad@yandex.ru");
+        User booker = createUser("Стас", "stas@yandex.ru");
+        userRepository.saveAll(List.of(owner, booker));
+
+        Item item1 = createItem("Лодка, резиновая", "Надувная", true, owner);
+        Item item2 = createItem("Стол \"Лофт\"", "Деревянный", true, owner);
+        itemRepository.saveAll(List.of(item1, item2));
+
+        Booking pastBooking = createPastBooking(item1, booker);
+        Booking futureBooking = createFutureBooking(item2, booker);
+        bookingRepository.saveAll(List.of(pastBooking, futureBooking));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bookingServiceImpl.exportBookingsByOwner(owner.getId(), "ALL", BookingExportFormat.CSV).writeTo(output);
+
+        assertThat(output.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "id,start,end,status,booker_id,item_id,item_name",
+                futureBooking.getId() + "," + ISO_LOCAL_DATE_TIME.format(futureBooking.getStart()) + ","
+                        + ISO_LOCAL_DATE_TIME.format(futureBooking.getEnd()) + ",WAITING,"
+                        + booker.getId() + "," + item2.getId() + ",\"Стол \"\"Лофт\"\"\"",
+                pastBooking.getId() + "," + ISO_LOCAL_DATE_TIME.format(pastBooking.getStart()) + ","
+                        + ISO_LOCAL_DATE_TIME.format(pastBooking.getEnd()) + ",CANCELED,"
+                        + booker.getId() + "," + item1.getId() + ",\"Лодка, резиновая\"");
+    }
+
+    @Test
+    void exportBookingsByOwnerAsNdjsonTest() throws Exception {
+        User owner = createUser("Влад", "vlad@yandex.ru");
+        User booker = createUser("Стас", "stas@yandex.ru");
+        userRepository.saveAll(List.of(owner, booker));
+
+        Item item1 = createItem("Лодка", "Резиновая", true, owner);
+        Item item2 = createItem("Стол", "Деревянный", true, owner);
+        itemRepository.saveAll(List.of(item1, item2));
+
+        Booking pastBooking = createPastBooking(item1, booker);
+        Booking futureBooking = createFutureBooking(item2, booker);
+        bookingRepository.saveAll(List.of(pastBooking, futureBooking));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bookingServiceImpl.exportBookingsByOwner(owner.getId(), "FUTURE", BookingExportFormat.NDJSON).writeTo(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(1);
+        assertThat(objectMapper.readValue(lines[0], BookingResponseDto.class))
+                .isEqualTo(BookingMapper.toBookingDto(futureBooking));
+    }
+
+    @Test
+    void concurrentBookingsOfSameItemTest() throws Exception {
+        User owner = createUser("Влад", "vlad@yandex.ru");
+        userRepository.save(owner);
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            bookers.add(createUser("Букер " + i, "booker" + i + "@yandex.ru"));
+        }
+        userRepository.saveAll(bookers);
+
+        Item item = createItem("Лодка", "Резиновая", true, owner);
+        itemRepository.save(item);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(bookers.size());
+        try {
+            List<Future<BookingResponseDto>> attempts = new ArrayList<>();
+            for (int i = 0; i < bookers.size(); i++) {
+                long bookerId = bookers.get(i).getId();
+                BookingRequestDto bookingRequestDto = new BookingRequestDto();
+                bookingRequestDto.setItemId(item.getId());
+                bookingRequestDto.setStart(start.plusHours(i));
+                bookingRequestDto.setEnd(start.plusDays(1).plusHours(i));
+                attempts.add(executor.submit(() -> {
+                    ready.await();
+                    return bookingServiceImpl.createBooking(bookerId, bookingRequestDto);
+                }));
+            }
+            ready.countDown();
+
+            int created = 0;
+            for (Future<BookingResponseDto> attempt : attempts) {
+                try {
+                    attempt.get();
+                    created++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(AvailableException.class);
+                }
+            }
+
+            assertThat(created).isEqualTo(1);
+            assertThat(bookingRepository.findAll()).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private User createUser(String name, String email) {
         User user = new User();
         user.setName(name);
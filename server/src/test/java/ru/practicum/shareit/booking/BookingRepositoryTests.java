@@ -0,0 +1,297 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.support.SqlStatementRecorder;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(SqlStatementRecorder.class)
+public class BookingRepositoryTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void findBookerAndOwnerBookingsByState() {
+        LocalDateTime now = LocalDateTime.now();
+
+        User owner = createUser("Влад", "vlad@yandex.ru");
+        entityManager.persist(owner);
+        User booker = createUser("Иван", "ivan@yandex.ru");
+        entityManager.persist(booker);
+        User otherUser = createUser("Стас", "stas@yandex.ru");
+        entityManager.persist(otherUser);
+
+        Item item = createItem("Шкаф", owner);
+        entityManager.persist(item);
+        Item otherItem = createItem("Диван", otherUser);
+        entityManager.persist(otherItem);
+
+        Booking past = createBooking(now.minusDays(10), item, booker, BookingStatus.APPROVED);
+        entityManager.persist(past);
+        Booking current = createBooking(now.minusHours(1), item, booker, BookingStatus.APPROVED);
+        entityManager.persist(current);
+        Booking waiting = createBooking(now.plusDays(1), item, booker, BookingStatus.WAITING);
+        entityManager.persist(waiting);
+        Booking rejected = createBooking(now.plusDays(2), item, booker, BookingStatus.REJECTED);
+        entityManager.persist(rejected);
+        entityManager.persist(createBooking(now.plusDays(3), otherItem, booker, BookingStatus.APPROVED));
+        entityManager.persist(createBooking(now.plusDays(4), item, otherUser, BookingStatus.APPROVED));
+
+        Pageable pageable = PageRequest.of(0, 10);
+
+        assertThat(ids(bookingRepository.findBookerBookings(booker.getId(), BookingState.ALL, now, pageable))).hasSize(5)
+                .endsWith(ids(List.of(rejected, waiting, current, past)).toArray(new Long[0]));
+        assertThat(ids(bookingRepository.findOwnerBookings(owner.getId(), BookingState.ALL, now, pageable))).hasSize(5)
+                .endsWith(ids(List.of(rejected, waiting, current, past)).toArray(new Long[0]));
+        assertThat(ids(bookingRepository.findOwnerBookings(owner.getId(), BookingState.CURRENT, now, pageable)))
+                .containsExactly(current.getId());
+        assertThat(ids(bookingRepository.findOwnerBookings(owner.getId(), BookingState.PAST, now, pageable)))
+                .containsExactly(past.getId());
+        assertThat(ids(bookingRepository.findBookerBookings(booker.getId(), BookingState.FUTURE, now, pageable)))
+                .hasSize(3);
+        assertThat(ids(bookingRepository.findBookerBookings(booker.getId(), BookingState.WAITING, now, pageable)))
+                .containsExactly(waiting.getId());
+        assertThat(ids(bookingRepository.findOwnerBookings(owner.getId(), BookingState.REJECTED, now, pageable)))
+                .containsExactly(rejected.getId());
+        assertThat(ids(bookingRepository.findBookerBookings(booker.getId(), BookingState.ALL, now, PageRequest.of(1, 2))))
+                .containsExactly(waiting.getId(), current.getId());
+    }
+
+    @Test
+    void findBookerBookingsAfterCursor() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        User owner = createUser("Влад", "vlad@yandex.ru");
+        entityManager.persist(owner);
+        User booker = createUser("Иван", "ivan@yandex.ru");
+        entityManager.persist(booker);
+
+        Item item = createItem("Шкаф", owner);
+        entityManager.persist(item);
+
+        Booking first = createBooking(now.plusDays(2), item, booker, BookingStatus.APPROVED);
+        entityManager.persist(first);
+        Booking second = createBooking(now.plusDays(1), item, booker, BookingStatus.APPROVED);
+        entityManager.persist(second);
+        Booking third = createBooking(now.plusDays(1), item, booker, BookingStatus.APPROVED);
+        entityManager.persist(third);
+        Booking fourth = createBooking(now.minusDays(1), item, booker, BookingStatus.APPROVED);
+        entityManager.persist(fourth);
+
+        List<Booking> firstPage = bookingRepository.findBookerBookings(
+                booker.getId(), BookingState.ALL, now, PageRequest.of(0, 2));
+        assertThat(ids(firstPage)).containsExactly(first.getId(), third.getId());
+
+        Booking last = firstPage.get(firstPage.size() - 1);
+        KeysetCursor cursor = KeysetCursor.parse(last.getStart() + "," + last.getId());
+
+        assertThat(ids(bookingRepository.findBookerBookings(booker.getId(), BookingState.ALL, now, cursor, 2)))
+                .containsExactly(second.getId(), fourth.getId());
+        assertThat(ids(bookingRepository.findOwnerBookings(owner.getId(), BookingState.FUTURE, now, cursor, 2)))
+                .containsExactly(second.getId());
+    }
+
+    @Test
+    void findBookerBookingsWithSingleStatement() {
+        LocalDateTime now = LocalDateTime.now();
+
+        User owner = createUser("Влад", "vlad@yandex.ru");
+        entityManager.persist(owner);
+        User booker = createUser("Иван", "ivan@yandex.ru");
+        entityManager.persist(booker);
+
+        for (int i = 0; i < 3; i++) {
+            Item item = createItem("Вещь " + i, owner);
+            entityManager.persist(item);
+            entityManager.persist(createBooking(now.plusDays(i), item, booker, BookingStatus.WAITING));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingResponseDto> bookings = bookingRepository.findBookerBookings(
+                        booker.getId(), BookingState.ALL, now, PageRequest.of(0, 10))
+                .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+
+        assertThat(bookings).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findBookingDtosWithSingleStatement() {
+        LocalDateTime now = LocalDateTime.now();
+
+        User owner = createUser("Влад", "vlad@yandex.ru");
+        entityManager.persist(owner);
+        User booker = createUser("Иван", "ivan@yandex.ru");
+        entityManager.persist(booker);
+
+        for (int i = 0; i < 3; i++) {
+            Item item = createItem("Вещь " + i, owner);
+            entityManager.persist(item);
+            entityManager.persist(createBooking(now.plusDays(i), item, booker, BookingStatus.WAITING));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BookingResponseDto> bookerBookings = bookingRepository.findBookerBookings(
+                        booker.getId(), BookingState.ALL, now, PageRequest.of(0, 10))
+                .stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+        entityManager.clear();
+
+        KeysetCursor cursor = new KeysetCursor(bookerBookings.get(0).getStart(), bookerBookings.get(0).getId());
+        SqlStatementRecorder.start();
+        List<String> statements;
+        try {
+            assertThat(bookingRepository.findBookerBookingDtos(booker.getId(), BookingState.ALL, now,
+                    PageRequest.of(0, 10))).isEqualTo(bookerBookings);
+            assertThat(bookingRepository.findOwnerBookingDtos(owner.getId(), BookingState.WAITING, now,
+                    PageRequest.of(0, 10))).isEqualTo(bookerBookings);
+            assertThat(bookingRepository.findBookerBookingDtos(booker.getId(), BookingState.ALL, now, cursor, 10))
+                    .isEqualTo(bookerBookings.subList(1, 3));
+            assertThat(bookingRepository.findOwnerBookingDtos(owner.getId(), BookingState.FUTURE, now, cursor, 1))
+                    .isEqualTo(bookerBookings.subList(1, 2));
+        } finally {
+            statements = SqlStatementRecorder.stop();
+        }
+
+        assertThat(statements).hasSize(4);
+        assertThat(statements).noneMatch(sql -> sql.contains("users") || sql.contains("requests"));
+    }
+
+    @Test
+    void findLastAndNextApprovedBookings() {
+        LocalDateTime now = LocalDateTime.now();
+
+        User owner = createUser("Влад", "vlad@yandex.ru");
+        entityManager.persist(owner);
+        User booker = createUser("Иван", "ivan@yandex.ru");
+        entityManager.persist(booker);
+
+        Item item1 = createItem("Шкаф", owner);
+        entityManager.persist(item1);
+        Item item2 = createItem("Диван", owner);
+        entityManager.persist(item2);
+        Item item3 = createItem("Стол", owner);
+        entityManager.persist(item3);
+
+        entityManager.persist(createBooking(now.minusDays(10), item1, booker, BookingStatus.APPROVED));
+        Booking lastBooking = createBooking(now.minusDays(2), item1, booker, BookingStatus.APPROVED);
+        entityManager.persist(lastBooking);
+        entityManager.persist(createBooking(now.minusDays(1), item1, booker, BookingStatus.REJECTED));
+        entityManager.persist(createBooking(now.plusDays(1), item1, booker, BookingStatus.WAITING));
+        Booking nextBooking = createBooking(now.plusDays(2), item1, booker, BookingStatus.APPROVED);
+        entityManager.persist(nextBooking);
+        entityManager.persist(createBooking(now.plusDays(5), item1, booker, BookingStatus.APPROVED));
+        Booking otherNextBooking = createBooking(now.plusDays(3), item2, booker, BookingStatus.APPROVED);
+        entityManager.persist(otherNextBooking);
+        entityManager.persist(createBooking(now.minusDays(3), item3, booker, BookingStatus.APPROVED));
+
+        List<ItemBookingView> bookings = bookingRepository.findLastAndNextApprovedBookings(
+                List.of(item1.getId(), item2.getId()), now);
+
+        assertThat(bookings).size().isEqualTo(3);
+
+        Map<Boolean, List<ItemBookingView>> split = bookings.stream()
+                .collect(Collectors.partitioningBy(ItemBookingView::getNextBooking));
+
+        assertThat(split.get(false)).size().isEqualTo(1);
+        assertThat(split.get(false).get(0).getId()).isEqualTo(lastBooking.getId());
+        assertThat(split.get(false).get(0).getItemId()).isEqualTo(item1.getId());
+        assertThat(split.get(false).get(0).getBookerId()).isEqualTo(booker.getId());
+
+        Map<Long, Long> nextBookings = split.get(true).stream()
+                .collect(Collectors.toMap(ItemBookingView::getItemId, ItemBookingView::getId));
+
+        assertThat(nextBookings).containsEntry(item1.getId(), nextBooking.getId());
+        assertThat(nextBookings).containsEntry(item2.getId(), otherNextBooking.getId());
+    }
+
+    @Test
+    void findBookingIntervalsThatHaveNotEnded() {
+        LocalDateTime now = LocalDateTime.now();
+
+        User owner = createUser("Влад", "vlad@yandex.ru");
+        entityManager.persist(owner);
+        User booker = createUser("Иван", "ivan@yandex.ru");
+        entityManager.persist(booker);
+        Item item = createItem("Шкаф", owner);
+        entityManager.persist(item);
+
+        entityManager.persist(createBooking(now.minusDays(2), item, booker, BookingStatus.APPROVED));
+        Booking current = createBooking(now.minusHours(6), item, booker, BookingStatus.APPROVED);
+        entityManager.persist(current);
+        Booking future = createBooking(now.plusDays(1), item, booker, BookingStatus.WAITING);
+        entityManager.persist(future);
+        entityManager.persist(createBooking(now.plusDays(2), item, booker, BookingStatus.REJECTED));
+
+        assertThat(bookingRepository.findBookingIntervals(item.getId(),
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), now))
+                .extracting(BookingIntervalView::getId)
+                .containsExactlyInAnyOrder(current.getId(), future.getId());
+    }
+
+    private User createUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+
+        return user;
+    }
+
+    private Item createItem(String name, User owner) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(name);
+        item.setAvailable(true);
+        item.setOwner(owner);
+
+        return item;
+    }
+
+    private Booking createBooking(LocalDateTime start, Item item, User booker, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(start.plusHours(12));
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(status);
+
+        return booking;
+    }
+
+    private List<Long> ids(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getId).collect(Collectors.toList());
+    }
+}
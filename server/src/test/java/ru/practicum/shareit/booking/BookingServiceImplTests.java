@@ -1,25 +1,35 @@
 package ru.practicum.shareit.booking;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityCalendar;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.export.BookingExportFormat;
+import ru.practicum.shareit.booking.export.BookingExporter;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exception.AvailableException;
 import ru.practicum.shareit.exception.InvalidStateException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +38,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,9 +50,18 @@ public class BookingServiceImplTests {
     private UserRepository userRepository;
     @Mock
     private ItemRepository itemRepository;
-    @InjectMocks
+    @Mock
+    private BookingExporter bookingExporter;
     private BookingServiceImpl bookingServiceImpl;
 
+    @BeforeEach
+    void setUp() {
+        bookingServiceImpl = new BookingServiceImpl(bookingRepository, userRepository, itemRepository,
+                new BookingAvailabilityIndex(bookingRepository, 1000, Duration.ofMinutes(5)),
+                new ItemAvailabilityCalendar(bookingRepository, itemRepository, 1000, 8, Duration.ofMinutes(5)),
+                bookingExporter);
+    }
+
     @Test
     void createValidBooking() {
         User owner = createUser(1, "Владислав", "vlad@yandex.ru");
@@ -158,6 +178,51 @@ public class BookingServiceImplTests {
         verify(bookingRepository, never()).save(any(Booking.class));
     }
 
+    @Test
+    void createBookingWhenPeriodIsTakenTest() {
+        User owner = createUser(1, "Владислав", "vlad@yandex.ru");
+        User booker = createUser(2, "Иван", "ivan@yandex.ru");
+
+        Item item = createItem(1, "Шкаф", "Большой шкаф", true, owner);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        BookingRequestDto bookingRequestDto = new BookingRequestDto();
+        bookingRequestDto.setItemId(item.getId());
+        bookingRequestDto.setStart(start.plusDays(2));
+        bookingRequestDto.setEnd(start.plusDays(7));
+
+        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.findBookingIntervals(eq(item.getId()), any(), any()))
+                .thenReturn(List.of(createBookingInterval(5, start, start.plusDays(3))));
+
+        assertThrows(AvailableException.class,
+                () -> bookingServiceImpl.createBooking(booker.getId(), bookingRequestDto));
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void approveRejectedBookingWhenPeriodIsTakenTest() {
+        User owner = createUser(1, "Владислав", "vlad@yandex.ru");
+        User booker = createUser(2, "Иван", "ivan@yandex.ru");
+
+        Item item = createItem(1, "Шкаф", "Большой шкаф", true, owner);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = createBooking(1, start, start.plusDays(5), item, booker, BookingStatus.REJECTED);
+
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findBookingIntervals(eq(item.getId()), any(), any()))
+                .thenReturn(List.of(createBookingInterval(2, start.plusDays(4), start.plusDays(6))));
+
+        assertThrows(AvailableException.class,
+                () -> bookingServiceImpl.approveBooking(owner.getId(), booking.getId(), true));
+
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
     @Test
     void correctApproveBookingTest() {
         User owner = createUser(1, "Владислав", "vlad@yandex.ru");
@@ -260,7 +325,6 @@ public class BookingServiceImplTests {
 
         Booking booking = createBooking(1, LocalDateTime.now(), LocalDateTime.now().plusDays(5), item, booker, BookingStatus.APPROVED);
 
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
         BookingResponseDto actualBooking = bookingServiceImpl.findBookingById(owner.getId(), booking.getId());
@@ -272,7 +336,7 @@ public class BookingServiceImplTests {
         assertThat(actualBooking.getBooker().getId(), equalTo(booker.getId()));
         assertThat(actualBooking.getItem().getId(), equalTo(item.getId()));
 
-        verify(userRepository, times(1)).findById(owner.getId());
+        verifyNoInteractions(userRepository);
         verify(bookingRepository, times(1)).findById(booking.getId());
     }
 
@@ -286,7 +350,6 @@ public class BookingServiceImplTests {
 
         Booking booking = createBooking(1, LocalDateTime.now(), LocalDateTime.now().plusDays(5), item, booker, BookingStatus.APPROVED);
 
-        when(userRepository.findById(otherUser.getId())).thenReturn(Optional.of(otherUser));
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
         NotFoundException exception = assertThrows(NotFoundException.class,
@@ -294,7 +357,7 @@ public class BookingServiceImplTests {
 
         assertThat("Пользователь не является хозяином вещи или хозяином бронирования!", equalTo(exception.getMessage()));
 
-        verify(userRepository, times(1)).findById(otherUser.getId());
+        verifyNoInteractions(userRepository);
         verify(bookingRepository, times(1)).findById(booking.getId());
     }
 
@@ -310,25 +373,6 @@ public class BookingServiceImplTests {
         verify(bookingRepository, times(1)).findById(bookingId);
     }
 
-    @Test
-    void findBookingByIdWhenUserIsNotFoundTest() {
-        long userId = 0;
-        User owner = createUser(1, "Владислав", "vlad@yandex.ru");
-        User booker = createUser(2, "Иван", "ivan@yandex.ru");
-
-        Item item = createItem(1, "Шкаф", "Большой шкаф", true, owner);
-
-        Booking booking = createBooking(1, LocalDateTime.now(), LocalDateTime.now().plusDays(5), item, booker, BookingStatus.APPROVED);
-
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
-
-        assertThrows(NotFoundException.class, () -> bookingServiceImpl.findBookingById(userId, booking.getId()));
-
-        verify(userRepository, times(1)).findById(userId);
-        verify(bookingRepository, times(1)).findById(booking.getId());
-    }
-
     @Test
     void findAllBookingsByBookerTest() {
         User owner = createUser(1, "Владислав", "vlad@yandex.ru");
@@ -342,13 +386,7 @@ public class BookingServiceImplTests {
 
         List<Booking> bookingsList = List.of(bookingForItem1, bookingForItem2);
 
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        when(bookingRepository.findByBookerIdOrderByStartDesc(eq(booker.getId()), any(Pageable.class))).thenReturn(bookingsList);
-        when(bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfter(eq(booker.getId()), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class))).thenReturn(bookingsList);
-        when(bookingRepository.findByBookerIdAndEndIsBeforeOrderByStartDesc(eq(booker.getId()), any(LocalDateTime.class), any(Pageable.class))).thenReturn(bookingsList);
-        when(bookingRepository.findByBookerIdAndStartIsAfterOrderByStartDesc(eq(booker.getId()), any(LocalDateTime.class), any(Pageable.class))).thenReturn(bookingsList);
-        when(bookingRepository.findByBookerIdAndStatus(eq(booker.getId()), eq(BookingStatus.WAITING), any(Pageable.class))).thenReturn(bookingsList);
-        when(bookingRepository.findByBookerIdAndStatus(eq(booker.getId()), eq(BookingStatus.REJECTED), any(Pageable.class))).thenReturn(bookingsList);
+        when(bookingRepository.findBookerBookings(eq(booker.getId()), any(BookingState.class), any(LocalDateTime.class), any(Pageable.class))).thenReturn(bookingsList);
 
         List<BookingResponseDto> bookingListStateAll = bookingServiceImpl.findBookingsByBooker(booker.getId(), "ALL", 0, 5);
         bookingServiceImpl.findBookingsByBooker(booker.getId(), "CURRENT", 0, 5);
@@ -362,7 +400,10 @@ public class BookingServiceImplTests {
         assertThat(bookingListStateAll.get(0).getId(), equalTo(bookingForItem1.getId()));
         assertThat(bookingListStateAll.get(1).getId(), equalTo(bookingForItem2.getId()));
 
-        verify(userRepository, times(7)).findById(booker.getId());
+        verifyNoInteractions(userRepository);
+        for (BookingState state : BookingState.values()) {
+            verify(bookingRepository, times(1)).findBookerBookings(eq(booker.getId()), eq(state), any(LocalDateTime.class), any(Pageable.class));
+        }
     }
 
     @Test
@@ -378,13 +419,7 @@ public class BookingServiceImplTests {
 
         List<Booking> bookingsList = List.of(bookingForItem1, bookingForItem2);
 
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByItemOwnerIdOrderByStartDesc(eq(owner.getId()), any(Pageable.class))).thenReturn(bookingsList);
-        when(bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(eq(owner.getId()), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class))).thenReturn(bookingsList);
-        when(bookingRepository.findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(eq(owner.getId()), any(LocalDateTime.class), any(Pageable.class))).thenReturn(bookingsList);
-        when(bookingRepository.findByItemOwnerIdAndStartIsAfterOrderByStartDesc(eq(owner.getId()), any(LocalDateTime.class), any(Pageable.class))).thenReturn(bookingsList);
-        when(bookingRepository.findByItemOwnerIdAndStatus(eq(owner.getId()), eq(BookingStatus.WAITING), any(Pageable.class))).thenReturn(bookingsList);
-        when(bookingRepository.findByItemOwnerIdAndStatus(eq(owner.getId()), eq(BookingStatus.REJECTED), any(Pageable.class))).thenReturn(bookingsList);
+        when(bookingRepository.findOwnerBookings(eq(owner.getId()), any(BookingState.class), any(LocalDateTime.class), any(Pageable.class))).thenReturn(bookingsList);
 
         List<BookingResponseDto> bookingListStateAll = bookingServiceImpl.findBookingsByOwner(owner.getId(), "ALL", 0, 5);
         bookingServiceImpl.findBookingsByOwner(owner.getId(), "CURRENT", 0, 5);
@@ -398,31 +433,71 @@ public class BookingServiceImplTests {
         assertThat(bookingListStateAll.get(0).getId(), equalTo(bookingForItem1.getId()));
         assertThat(bookingListStateAll.get(1).getId(), equalTo(bookingForItem2.getId()));
 
-        verify(userRepository, times(7)).findById(owner.getId());
+        verifyNoInteractions(userRepository);
+        for (BookingState state : BookingState.values()) {
+            verify(bookingRepository, times(1)).findOwnerBookings(eq(owner.getId()), eq(state), any(LocalDateTime.class), any(Pageable.class));
+        }
     }
 
     @Test
-    void findAllBookingsByOwnerWhenOwnerIsNotFoundTest() {
-        long ownerId = 0;
+    void findBookingsByBookerWithProjectionTest() {
+        ReflectionTestUtils.setField(bookingServiceImpl, "bookingListProjection", true);
+
+        List<BookingResponseDto> bookings = List.of(new BookingResponseDto(1, LocalDateTime.now(),
+                LocalDateTime.now().plusDays(5), BookingStatus.APPROVED, 2, 1, "Шкаф"));
 
-        when(userRepository.findById(ownerId)).thenReturn(Optional.empty());
+        when(bookingRepository.findBookerBookingDtos(eq(2L), eq(BookingState.PAST), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(bookings);
+        when(bookingRepository.findBookerBookingDtos(eq(2L), eq(BookingState.ALL), any(LocalDateTime.class),
+                any(KeysetCursor.class), eq(5))).thenReturn(bookings);
 
-        assertThrows(NotFoundException.class,
-                () -> bookingServiceImpl.findBookingsByOwner(ownerId, "ALL", 0, 5));
+        assertThat(bookingServiceImpl.findBookingsByBooker(2, "PAST", 0, 5), equalTo(bookings));
+        assertThat(bookingServiceImpl.findBookingsByBooker(2, "ALL", "2030-01-01T10:00:00,5", 5), equalTo(bookings));
 
-        verify(userRepository, times(1)).findById(ownerId);
+        verify(bookingRepository, never()).findBookerBookings(anyLong(), any(BookingState.class),
+                any(LocalDateTime.class), any(Pageable.class));
+        verify(bookingRepository, never()).findBookerBookings(anyLong(), any(BookingState.class),
+                any(LocalDateTime.class), any(KeysetCursor.class), anyInt());
     }
 
     @Test
-    void findAllBookingsByBookerWhenBookerIsNotFoundTest() {
-        long bookerId = 0;
+    void findBookingsByOwnerWithProjectionTest() {
+        ReflectionTestUtils.setField(bookingServiceImpl, "bookingListProjection", true);
+
+        List<BookingResponseDto> bookings = List.of(new BookingResponseDto(1, LocalDateTime.now(),
+                LocalDateTime.now().plusDays(5), BookingStatus.WAITING, 2, 1, "Шкаф"));
+
+        when(bookingRepository.findOwnerBookingDtos(eq(1L), eq(BookingState.WAITING), any(LocalDateTime.class),
+                any(Pageable.class))).thenReturn(bookings);
+        when(bookingRepository.findOwnerBookingDtos(eq(1L), eq(BookingState.FUTURE), any(LocalDateTime.class),
+                any(KeysetCursor.class), eq(5))).thenReturn(bookings);
 
-        when(userRepository.findById(bookerId)).thenReturn(Optional.empty());
+        assertThat(bookingServiceImpl.findBookingsByOwner(1, "waiting", 0, 5), equalTo(bookings));
+        assertThat(bookingServiceImpl.findBookingsByOwner(1, "FUTURE", "2030-01-01T10:00:00,5", 5), equalTo(bookings));
+        assertThrows(InvalidStateException.class, () -> bookingServiceImpl.findBookingsByOwner(1, "UNKNOWN", 0, 5));
 
-        assertThrows(NotFoundException.class,
-                () -> bookingServiceImpl.findBookingsByBooker(bookerId, "ALL", 0, 5));
+        verify(bookingRepository, never()).findOwnerBookings(anyLong(), any(BookingState.class),
+                any(LocalDateTime.class), any(Pageable.class));
+        verify(bookingRepository, never()).findOwnerBookings(anyLong(), any(BookingState.class),
+                any(LocalDateTime.class), any(KeysetCursor.class), anyInt());
+    }
+
+    @Test
+    void exportBookingsByOwnerWithUnknownStateTest() {
+        assertThrows(InvalidStateException.class,
+                () -> bookingServiceImpl.exportBookingsByOwner(1, "UNKNOWN", BookingExportFormat.CSV));
 
-        verify(userRepository, times(1)).findById(bookerId);
+        verifyNoInteractions(bookingExporter);
+    }
+
+    @Test
+    void findAllBookingsByBookerWithInvalidCursorTest() {
+        User booker = createUser(2, "Иван", "ivan@yandex.ru");
+
+        assertThrows(ValidationException.class,
+                () -> bookingServiceImpl.findBookingsByBooker(booker.getId(), "ALL", "вчера", 5));
+
+        verifyNoInteractions(bookingRepository);
     }
 
     private User createUser(long id, String name, String email) {
@@ -456,4 +531,23 @@ public class BookingServiceImplTests {
 
         return booking;
     }
+
+    private BookingIntervalView createBookingInterval(long id, LocalDateTime start, LocalDateTime end) {
+        return new BookingIntervalView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+        };
+    }
 }
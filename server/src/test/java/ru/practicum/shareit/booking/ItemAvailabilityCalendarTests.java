@@ -0,0 +1,130 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityCalendar;
+import ru.practicum.shareit.booking.dto.AvailabilityPeriodDto;
+import ru.practicum.shareit.booking.dto.BookingIntervalView;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemAvailabilityCalendarTests {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final LocalDateTime TO = FROM.plusDays(30);
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    private ItemAvailabilityCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new ItemAvailabilityCalendar(bookingRepository, itemRepository, 1000, 8, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void findPeriodsMergesAndClipsBookingsTest() {
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findBookingIntervalsBetween(1, BookingStatus.APPROVED, FROM, TO)).thenReturn(List.of(
+                createInterval(1, FROM.minusDays(2), FROM.plusDays(1)),
+                createInterval(2, FROM.plusDays(5), FROM.plusDays(8)),
+                createInterval(3, FROM.plusDays(6), FROM.plusDays(7)),
+                createInterval(4, FROM.plusDays(8), FROM.plusDays(10)),
+                createInterval(5, FROM.plusDays(29), FROM.plusDays(40))));
+
+        assertThat(calendar.findPeriods(1, FROM, TO), contains(
+                new AvailabilityPeriodDto(FROM, FROM.plusDays(1), false),
+                new AvailabilityPeriodDto(FROM.plusDays(1), FROM.plusDays(5), true),
+                new AvailabilityPeriodDto(FROM.plusDays(5), FROM.plusDays(10), false),
+                new AvailabilityPeriodDto(FROM.plusDays(10), FROM.plusDays(29), true),
+                new AvailabilityPeriodDto(FROM.plusDays(29), TO, false)));
+    }
+
+    @Test
+    void findPeriodsWithoutBookingsTest() {
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        assertThat(calendar.findPeriods(1, FROM, TO), contains(new AvailabilityPeriodDto(FROM, TO, true)));
+    }
+
+    @Test
+    void findPeriodsOfUnknownItemTest() {
+        when(itemRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> calendar.findPeriods(1, FROM, TO));
+
+        verify(bookingRepository, never()).findBookingIntervalsBetween(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void findPeriodsIsCachedUntilEvictedTest() {
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        calendar.findPeriods(1, FROM, TO);
+        calendar.findPeriods(1, FROM, TO);
+        verify(bookingRepository, times(1)).findBookingIntervalsBetween(1, BookingStatus.APPROVED, FROM, TO);
+
+        calendar.evict(1);
+        calendar.findPeriods(1, FROM, TO);
+        verify(bookingRepository, times(2)).findBookingIntervalsBetween(1, BookingStatus.APPROVED, FROM, TO);
+    }
+
+    @Test
+    void expiredCalendarIsReloadedFromRepositoryTest() {
+        calendar = new ItemAvailabilityCalendar(bookingRepository, itemRepository, 1000, 8, Duration.ZERO);
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        calendar.findPeriods(1, FROM, TO);
+        calendar.findPeriods(1, FROM, TO);
+
+        verify(bookingRepository, times(2)).findBookingIntervalsBetween(1, BookingStatus.APPROVED, FROM, TO);
+    }
+
+    @Test
+    void leastRecentlyRequestedRangeIsDroppedTest() {
+        calendar = new ItemAvailabilityCalendar(bookingRepository, itemRepository, 1000, 1, Duration.ofMinutes(5));
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        calendar.findPeriods(1, FROM, TO);
+        calendar.findPeriods(1, FROM, TO.plusDays(1));
+        calendar.findPeriods(1, FROM, TO);
+
+        verify(bookingRepository, times(2)).findBookingIntervalsBetween(1, BookingStatus.APPROVED, FROM, TO);
+    }
+
+    private BookingIntervalView createInterval(long id, LocalDateTime start, LocalDateTime end) {
+        return new BookingIntervalView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.InvertedIndexItemSearchEngine;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InvertedIndexItemSearchEngineTests {
+
+    @Mock
+    private ItemRepository itemRepository;
+    private InvertedIndexItemSearchEngine searchEngine;
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findItemDtosAfter(anyLong(), any(Pageable.class))).thenReturn(List.of(
+                new ItemDto(1, "Гаечный ключ", "Большой металлический ключ", true, null),
+                new ItemDto(2, "Ключ от всех дверей", "Откроет любую дверь", true, null),
+                new ItemDto(3, "Скрипичный ключ", "Может кому пригодится", false, null),
+                new ItemDto(4, "Диван", "Старый и сломанный", true, 7L)));
+
+        searchEngine = new InvertedIndexItemSearchEngine(itemRepository);
+        searchEngine.rebuild();
+    }
+
+    @Test
+    void searchIgnoresCaseAndUnavailableItemsTest() {
+        assertThat(ids(searchEngine.search("кЛюЧ", pageable)), contains(1L, 2L));
+        assertThat(ids(searchEngine.search("дИваН", pageable)), contains(4L));
+        assertThat(searchEngine.search("Отвертка", pageable), empty());
+    }
+
+    @Test
+    void searchBySubstringTest() {
+        assertThat(ids(searchEngine.search("металл", pageable)), contains(1L));
+        assertThat(ids(searchEngine.search("люч", pageable)), contains(1L, 2L));
+        assertThat(ids(searchEngine.search("чный клю", pageable)), contains(1L));
+        assertThat(ids(searchEngine.search("ключ от", pageable)), contains(2L));
+        assertThat(searchEngine.search("от ключ", pageable), empty());
+    }
+
+    @Test
+    void searchByShortQueryScansAllItemsTest() {
+        assertThat(ids(searchEngine.search("ди", pageable)), contains(4L));
+        assertThat(ids(searchEngine.search("й к", pageable)), contains(1L));
+    }
+
+    @Test
+    void searchPaginationTest() {
+        assertThat(ids(searchEngine.search("ключ", PageRequest.of(1, 1))), contains(2L));
+        assertThat(searchEngine.search("ключ", PageRequest.of(1, 2)), empty());
+    }
+
+    @Test
+    void searchAfterIdTest() {
+        assertThat(ids(searchEngine.search("ключ", 1L, 10)), contains(2L));
+        assertThat(ids(searchEngine.search("ключ", 0L, 1)), contains(1L));
+        assertThat(searchEngine.search("ключ", 2L, 10), empty());
+    }
+
+    @Test
+    void indexUpdatesExistingItemTest() {
+        searchEngine.index(new ItemDto(4, "Кресло", "Мягкое", true, null));
+        searchEngine.index(new ItemDto(3, "Скрипичный ключ", "Может кому пригодится", true, null));
+
+        assertThat(searchEngine.search("диван", pageable), empty());
+        assertThat(ids(searchEngine.search("кресло", pageable)), contains(4L));
+        assertThat(ids(searchEngine.search("ключ", pageable)), contains(1L, 2L, 3L));
+    }
+
+    @Test
+    void searchWithoutWordsScansAllItemsTest() {
+        searchEngine.index(new ItemDto(5, "Чайник", "100% рабочий", true, null));
+
+        assertThat(ids(searchEngine.search("%", pageable)), contains(5L));
+        assertThat(ids(searchEngine.search("  ", pageable)), empty());
+    }
+
+    private List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).collect(Collectors.toList());
+    }
+}
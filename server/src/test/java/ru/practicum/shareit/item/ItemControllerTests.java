@@ -7,12 +7,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.AvailabilityPeriodDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingAndCommentsDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.service.UserExistenceValidator;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -30,6 +34,8 @@ public class ItemControllerTests {
     private ObjectMapper objectMapper;
     @MockBean
     private ItemService itemService;
+    @MockBean
+    private UserExistenceValidator userExistenceValidator;
 
     @Test
     void saveItemTest() throws Exception {
@@ -54,6 +60,30 @@ public class ItemControllerTests {
         verify(itemService, times(1)).saveItem(eq(ownerId), any(ItemDto.class));
     }
 
+    @Test
+    void importItemsTest() throws Exception {
+        long ownerId = 1;
+
+        List<ItemDto> itemDtos = List.of(createItemDto(0, "Шкаф", "Большой шкаф", true),
+                createItemDto(0, "Стол", "Деревянный стол", true));
+
+        when(itemService.importItems(eq(ownerId), eq(itemDtos))).thenReturn(List.of(
+                ItemImportResultDto.imported(0, 10), ItemImportResultDto.failed(1, "Запрос не найден!")));
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", ownerId)
+                        .content(objectMapper.writeValueAsString(itemDtos))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].row").value(0))
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[1].row").value(1))
+                .andExpect(jsonPath("$[1].error").value("Запрос не найден!"));
+
+        verify(itemService, times(1)).importItems(eq(ownerId), eq(itemDtos));
+    }
+
     @Test
     void updateItemTest() throws Exception {
         long ownerId = 1;
@@ -159,6 +189,31 @@ public class ItemControllerTests {
         verify(itemService, times(1)).searchItems(eq(text), anyInt(), anyInt());
     }
 
+    @Test
+    void findItemAvailabilityTest() throws Exception {
+        long itemId = 1;
+        LocalDate from = LocalDate.of(2030, 1, 1);
+        LocalDate to = LocalDate.of(2030, 1, 31);
+
+        List<AvailabilityPeriodDto> periods = List.of(
+                new AvailabilityPeriodDto(from.atStartOfDay(), from.plusDays(5).atStartOfDay(), true),
+                new AvailabilityPeriodDto(from.plusDays(5).atStartOfDay(), to.plusDays(1).atStartOfDay(), false));
+
+        when(itemService.findItemAvailability(itemId, from, to)).thenReturn(periods);
+
+        mockMvc.perform(get("/items/{id}/availability", itemId)
+                        .param("from", "2030-01-01")
+                        .param("to", "2030-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].start").value("2030-01-01T00:00:00"))
+                .andExpect(jsonPath("$[0].end").value("2030-01-06T00:00:00"))
+                .andExpect(jsonPath("$[0].available").value(true))
+                .andExpect(jsonPath("$[1].end").value("2030-02-01T00:00:00"))
+                .andExpect(jsonPath("$[1].available").value(false));
+
+        verify(itemService, times(1)).findItemAvailability(itemId, from, to);
+    }
+
     @Test
     void addCommentTest() throws Exception {
         long userId = 1;
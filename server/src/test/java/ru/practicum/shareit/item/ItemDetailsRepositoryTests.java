@@ -0,0 +1,141 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemWithBookingAndCommentsDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemDetailsRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(ItemDetailsRepository.class)
+public class ItemDetailsRepositoryTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ItemDetailsRepository itemDetailsRepository;
+
+    private final LocalDateTime now = LocalDateTime.of(2023, 9, 1, 12, 0);
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking lastBooking;
+    private Booking nextBooking;
+
+    @BeforeEach
+    void setUp() {
+        owner = entityManager.persist(createUser("Влад", "vlad@yandex.ru"));
+        booker = entityManager.persist(createUser("Стас", "stas@yandex.ru"));
+        item = entityManager.persist(createItem("Лодка", "Резиновая", owner));
+
+        entityManager.persist(createBooking(now.minusDays(10), now.minusDays(9), BookingStatus.APPROVED));
+        lastBooking = entityManager.persist(createBooking(now.minusDays(2), now.minusDays(1), BookingStatus.APPROVED));
+        entityManager.persist(createBooking(now.minusHours(1), now.plusHours(1), BookingStatus.REJECTED));
+        entityManager.persist(createBooking(now.plusDays(1), now.plusDays(2), BookingStatus.WAITING));
+        nextBooking = entityManager.persist(createBooking(now.plusDays(3), now.plusDays(4), BookingStatus.APPROVED));
+        entityManager.persist(createBooking(now.plusDays(5), now.plusDays(6), BookingStatus.APPROVED));
+
+        entityManager.persist(createComment("Отлично!", now.minusDays(8)));
+        entityManager.persist(createComment("Превосходно!", now.minusDays(1)));
+        entityManager.flush();
+    }
+
+    @Test
+    void findItemDetailsForOwnerTest() {
+        ItemWithBookingAndCommentsDto details = itemDetailsRepository.findItemDetails(item.getId(), owner.getId(), now)
+                .orElseThrow();
+
+        assertThat(details.getId()).isEqualTo(item.getId());
+        assertThat(details.getName()).isEqualTo("Лодка");
+        assertThat(details.getDescription()).isEqualTo("Резиновая");
+        assertThat(details.getAvailable()).isTrue();
+        assertThat(details.getLastBooking().getId()).isEqualTo(lastBooking.getId());
+        assertThat(details.getLastBooking().getBookerId()).isEqualTo(booker.getId());
+        assertThat(details.getNextBooking().getId()).isEqualTo(nextBooking.getId());
+        assertThat(details.getNextBooking().getBookerId()).isEqualTo(booker.getId());
+        assertThat(details.getComments()).hasSize(2);
+        assertThat(details.getComments().get(0).getText()).isEqualTo("Отлично!");
+        assertThat(details.getComments().get(0).getAuthorName()).isEqualTo("Стас");
+        assertThat(details.getComments().get(0).getCreated()).isEqualTo(now.minusDays(8));
+        assertThat(details.getComments().get(1).getText()).isEqualTo("Превосходно!");
+    }
+
+    @Test
+    void findItemDetailsForAnotherUserTest() {
+        ItemWithBookingAndCommentsDto details = itemDetailsRepository.findItemDetails(item.getId(), booker.getId(), now)
+                .orElseThrow();
+
+        assertThat(details.getLastBooking()).isNull();
+        assertThat(details.getNextBooking()).isNull();
+        assertThat(details.getComments()).hasSize(2);
+    }
+
+    @Test
+    void findItemDetailsWithoutBookingsAndCommentsTest() {
+        Item anotherItem = entityManager.persist(createItem("Стол", "Деревянный", owner));
+        entityManager.flush();
+
+        ItemWithBookingAndCommentsDto details = itemDetailsRepository
+                .findItemDetails(anotherItem.getId(), owner.getId(), now).orElseThrow();
+
+        assertThat(details.getLastBooking()).isNull();
+        assertThat(details.getNextBooking()).isNull();
+        assertThat(details.getComments()).isEmpty();
+    }
+
+    @Test
+    void findItemDetailsWhenItemIsNotFoundTest() {
+        assertThat(itemDetailsRepository.findItemDetails(item.getId() + 100, owner.getId(), now)).isEmpty();
+    }
+
+    private User createUser(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+
+        return user;
+    }
+
+    private Item createItem(String name, String description, User owner) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(true);
+        item.setOwner(owner);
+
+        return item;
+    }
+
+    private Booking createBooking(LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(status);
+
+        return booking;
+    }
+
+    private Comment createComment(String text, LocalDateTime created) {
+        Comment comment = new Comment();
+        comment.setText(text);
+        comment.setItem(item);
+        comment.setAuthor(booker);
+        comment.setCreated(created);
+
+        return comment;
+    }
+}
@@ -1,25 +1,36 @@
 package ru.practicum.shareit.item;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.batch.ItemBatchImporter;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingAndCommentsDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+import static ru.practicum.shareit.config.PooledSequenceGenerator.ALLOCATION_SIZE;
 
 @SpringBootTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
@@ -34,6 +45,14 @@ public class ItemIntegrationTest {
     private CommentRepository commentRepository;
     @Autowired
     private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemBatchImporter itemBatchImporter;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Value("${shareit.item-import.chunk-size}")
+    private int chunkSize;
 
     @Test
     void findItemsByUser() {
@@ -68,6 +87,53 @@ public class ItemIntegrationTest {
         assertThat(allItems.get(1).getComments().get(1).getText()).isEqualTo("Превосходно!");
     }
 
+    @Test
+    void importItems() {
+        User owner = createUser("Влад", "vlad@yandex.ru");
+        User requester = createUser("Стас", "stas@yandex.ru");
+        userRepository.saveAll(List.of(owner, requester));
+
+        ItemRequest itemRequest = new ItemRequest();
+        itemRequest.setDescription("Нужна лодка");
+        itemRequest.setRequester(requester);
+        itemRequest.setCreated(LocalDateTime.now());
+        itemRequestRepository.save(itemRequest);
+
+        List<ItemImportResultDto> results = itemService.importItems(owner.getId(), List.of(
+                new ItemDto(0, "Лодка", "Резиновая", true, itemRequest.getId()),
+                new ItemDto(0, "Стол", "Деревянный", true, null),
+                new ItemDto(0, "Стакан", "Стеклянный", true, itemRequest.getId() + 1000),
+                new ItemDto(0, null, "Без названия", true, null)));
+
+        assertThat(results).extracting(ItemImportResultDto::getRow).containsExactly(0, 1, 2, 3);
+        assertThat(results.get(0).getId()).isNotNull();
+        assertThat(results.get(1).getId()).isNotNull();
+        assertThat(results.get(2).getError()).isEqualTo("Запрос не найден!");
+        assertThat(results.get(3).getError()).isEqualTo("Не удалось сохранить вещь!");
+        assertThat(itemRepository.findByRequestId(itemRequest.getId()))
+                .extracting(Item::getId).containsExactly(results.get(0).getId());
+        assertThat(itemService.searchItems("стол", 0, 10))
+                .extracting(ItemDto::getId).containsExactly(results.get(1).getId());
+    }
+
+    @Test
+    void importItemsInJdbcBatches() {
+        int items = 2 * chunkSize;
+        User owner = userRepository.save(createUser("Влад", "vlad@yandex.ru"));
+        List<ItemDto> itemDtos = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            itemDtos.add(new ItemDto(0, "Дрель " + i, "Ударная", true, null));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemImportResultDto> results = itemBatchImporter.importItems(owner.getId(), itemDtos);
+
+        assertThat(results).allMatch(result -> result.getId() != null);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(items);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(items / ALLOCATION_SIZE + items / chunkSize);
+    }
+
     private User createUser(String name, String email) {
         User user = new User();
         user.setName(name);
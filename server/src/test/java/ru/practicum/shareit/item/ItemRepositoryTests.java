@@ -6,10 +6,13 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
 
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
@@ -40,6 +43,49 @@ public class ItemRepositoryTests {
         assertThat(itemRepository.searchItems("Отвертка", pageable)).size().isEqualTo(0);
         assertThat(itemRepository.searchItems("кЛюЧ", pageable)).size().isEqualTo(2);
         assertThat(itemRepository.searchItems("дИваН", pageable)).size().isEqualTo(1);
+        assertThat(itemRepository.searchItems("ключ", OffsetPageRequest.of(1, 2)))
+                .extracting(Item::getId).containsExactly(item2.getId());
+        assertThat(itemRepository.searchItemsAfter("ключ", item1.getId(), pageable))
+                .extracting(Item::getId).containsExactly(item2.getId());
+    }
+
+    @Test
+    void findByOwnerIdAndIdGreaterThan() {
+        User owner = createUser("Влад", "vlad@yandex.ru");
+        entityManager.persist(owner);
+        User otherUser = createUser("Иван", "ivan@yandex.ru");
+        entityManager.persist(otherUser);
+
+        Item item1 = createItem("Шкаф", "Большой шкаф", true, owner);
+        entityManager.persist(item1);
+        Item item2 = createItem("Диван", "Старый и сломанный", true, otherUser);
+        entityManager.persist(item2);
+        Item item3 = createItem("Стол", "Деревянный", true, owner);
+        entityManager.persist(item3);
+
+        assertThat(itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(owner.getId(), item1.getId(),
+                PageRequest.of(0, 10))).extracting(Item::getId).containsExactly(item3.getId());
+    }
+
+    @Test
+    void findItemDtosAfter() {
+        User owner = createUser("Влад", "vlad@yandex.ru");
+        entityManager.persist(owner);
+
+        Item item1 = createItem("Гаечный ключ", "Большой металлический ключ", true, owner);
+        entityManager.persist(item1);
+        Item item2 = createItem("Диван", "Старый и сломанный", false, owner);
+        entityManager.persist(item2);
+        Item item3 = createItem("Стол", "Деревянный", true, owner);
+        entityManager.persist(item3);
+
+        List<ItemDto> items = itemRepository.findItemDtosAfter(item1.getId(), PageRequest.of(0, 1));
+
+        assertThat(items).size().isEqualTo(1);
+        assertThat(items.get(0).getId()).isEqualTo(item2.getId());
+        assertThat(items.get(0).getName()).isEqualTo(item2.getName());
+        assertThat(items.get(0).getAvailable()).isFalse();
+        assertThat(items.get(0).getRequestId()).isNull();
     }
 
     private User createUser(String name, String email) {
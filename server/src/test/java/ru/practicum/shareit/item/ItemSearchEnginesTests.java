@@ -0,0 +1,85 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.InvertedIndexItemSearchEngine;
+import ru.practicum.shareit.item.search.SqlItemSearchEngine;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class ItemSearchEnginesTests {
+
+    private static final List<String> QUERIES = List.of(
+            "люч", "ЛЮЧ", "ель простая", "чный кл", "ерь", "ключ от", "от ключ", "металлическ",
+            "ди", "о", "й к", "дрель", "Отвертка");
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ItemRepository itemRepository;
+    private InvertedIndexItemSearchEngine indexEngine;
+    private SqlItemSearchEngine sqlEngine;
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setName("Влад");
+        owner.setEmail("vlad@yandex.ru");
+        entityManager.persist(owner);
+
+        persistItem("Гаечный ключ", "Большой металлический ключ", true, owner);
+        persistItem("Ключ от всех дверей", "Откроет любую дверь", true, owner);
+        persistItem("Скрипичный ключ", "Может кому пригодится", false, owner);
+        persistItem("Дрель простая", "Без аккумулятора, сверлит дерево", true, owner);
+        persistItem("Диван", "Старый и сломанный", true, owner);
+        entityManager.flush();
+
+        indexEngine = new InvertedIndexItemSearchEngine(itemRepository);
+        indexEngine.rebuild();
+        sqlEngine = new SqlItemSearchEngine(itemRepository);
+    }
+
+    @Test
+    void indexFindsSameItemsAsSqlTest() {
+        for (String query : QUERIES) {
+            assertThat(ids(indexEngine.search(query, pageable)))
+                    .as("Результаты поиска по запросу «%s»", query)
+                    .isEqualTo(ids(sqlEngine.search(query, pageable)));
+        }
+    }
+
+    @Test
+    void indexFindsInfixMatchesTest() {
+        assertThat(indexEngine.search("люч", pageable)).extracting(ItemDto::getName)
+                .containsExactly("Гаечный ключ", "Ключ от всех дверей");
+        assertThat(indexEngine.search("ель простая", pageable)).extracting(ItemDto::getName)
+                .containsExactly("Дрель простая");
+    }
+
+    private void persistItem(String name, String description, boolean available, User owner) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        entityManager.persist(item);
+    }
+
+    private List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).collect(Collectors.toList());
+    }
+}
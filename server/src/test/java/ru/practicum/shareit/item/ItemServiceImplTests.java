@@ -6,24 +6,34 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.availability.ItemAvailabilityCalendar;
+import ru.practicum.shareit.booking.dto.BookingResponseForItemDto;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.batch.ItemBatchImporter;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingAndCommentsDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemDetailsRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -33,6 +43,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,6 +59,14 @@ public class ItemServiceImplTests {
     private CommentRepository commentRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private ItemDetailsRepository itemDetailsRepository;
+    @Mock
+    private ItemAvailabilityCalendar itemAvailabilityCalendar;
+    @Mock
+    private ItemBatchImporter itemBatchImporter;
     @InjectMocks
     private ItemServiceImpl itemServiceImpl;
 
@@ -77,6 +96,7 @@ public class ItemServiceImplTests {
         verify(userRepository, times(1)).findById(owner.getId());
         verify(itemRequestRepository, times(1)).findById(itemRequest.getId());
         verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemSearchEngine, times(1)).index(any(ItemDto.class));
     }
 
     @Test
@@ -99,6 +119,7 @@ public class ItemServiceImplTests {
 
         verify(userRepository, times(1)).findById(owner.getId());
         verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemSearchEngine, times(1)).index(any(ItemDto.class));
     }
 
     @Test
@@ -135,6 +156,29 @@ public class ItemServiceImplTests {
         verify(itemRepository, never()).save(any(Item.class));
     }
 
+    @Test
+    void importItemsTest() {
+        User owner = createUser(1, "Владислав", "vlad@yandex.ru");
+        List<ItemDto> itemDtos = List.of(new ItemDto(0, "Шкаф", "Большой шкаф", true, null));
+        List<ItemImportResultDto> results = List.of(ItemImportResultDto.imported(0, 1));
+
+        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(itemBatchImporter.importItems(owner.getId(), itemDtos)).thenReturn(results);
+
+        assertThat(itemServiceImpl.importItems(owner.getId(), itemDtos), equalTo(results));
+    }
+
+    @Test
+    void importItemsWhenUserIsNotFoundTest() {
+        List<ItemDto> itemDtos = List.of(new ItemDto(0, "Шкаф", "Большой шкаф", true, null));
+
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> itemServiceImpl.importItems(1, itemDtos));
+
+        verify(itemBatchImporter, never()).importItems(anyLong(), any());
+    }
+
     @Test
     void updateValidItemTest() {
         User owner = createUser(1, "Владислав", "vlad@yandex.ru");
@@ -156,6 +200,7 @@ public class ItemServiceImplTests {
 
         verify(itemRepository, times(1)).findById(oldItem.getId());
         verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemSearchEngine, times(1)).index(any(ItemDto.class));
     }
 
     @Test
@@ -283,6 +328,35 @@ public class ItemServiceImplTests {
         verify(itemRepository, times(1)).findById(itemId);
     }
 
+    @Test
+    void findItemByIdWithProjectionTest() {
+        ReflectionTestUtils.setField(itemServiceImpl, "itemDetailsProjection", true);
+
+        ItemWithBookingAndCommentsDto item = new ItemWithBookingAndCommentsDto(1, "Шкаф", "Большой шкаф", true,
+                new BookingResponseForItemDto(2, 3), new BookingResponseForItemDto(1, 3), Collections.emptyList());
+
+        when(itemDetailsRepository.findItemDetails(eq(item.getId()), eq(1L), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(item));
+
+        ItemWithBookingAndCommentsDto actualItem = itemServiceImpl.findItemById(item.getId(), 1);
+
+        assertThat(actualItem, equalTo(item));
+
+        verify(itemDetailsRepository, times(1)).findItemDetails(eq(item.getId()), eq(1L), any(LocalDateTime.class));
+        verify(itemRepository, never()).findById(anyLong());
+        verify(commentRepository, never()).findByItemId(anyLong());
+    }
+
+    @Test
+    void findItemByIdWithProjectionWhenItemIsNotFoundTest() {
+        ReflectionTestUtils.setField(itemServiceImpl, "itemDetailsProjection", true);
+
+        when(itemDetailsRepository.findItemDetails(eq(0L), eq(1L), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> itemServiceImpl.findItemById(0, 1));
+    }
+
     @Test
     void findAllItemsByUserTest() {
         User owner = createUser(1, "Владислав", "vlad@yandex.ru");
@@ -303,8 +377,8 @@ public class ItemServiceImplTests {
                 createComment(2, "Не понравился!", itemsList.get(0), user2, LocalDateTime.now()));
 
         when(itemRepository.findByOwnerIdOrderByIdAsc(eq(owner.getId()), any(Pageable.class))).thenReturn(itemsList);
-        when(bookingRepository.findByItemInAndStartLessThanEqualOrderByStartDesc(eq(itemsList), any(LocalDateTime.class))).thenReturn(List.of(lastBooking));
-        when(bookingRepository.findByItemInAndStartGreaterThanEqualOrderByStartAsc(eq(itemsList), any(LocalDateTime.class))).thenReturn(List.of(nextBooking));
+        when(bookingRepository.findLastAndNextApprovedBookings(eq(List.of(1L, 2L)), any(LocalDateTime.class)))
+                .thenReturn(List.of(createItemBookingView(lastBooking, false), createItemBookingView(nextBooking, true)));
         when(commentRepository.findByItemIn(itemsList)).thenReturn(commentList);
 
         List<ItemWithBookingAndCommentsDto> actualItems = itemServiceImpl.findItemsByUser(owner.getId(), 0, 5);
@@ -337,20 +411,19 @@ public class ItemServiceImplTests {
         assertTrue(actualItems.get(1).getComments().isEmpty());
 
         verify(itemRepository, times(1)).findByOwnerIdOrderByIdAsc(eq(owner.getId()), any(Pageable.class));
-        verify(bookingRepository, times(1)).findByItemInAndStartLessThanEqualOrderByStartDesc(eq(itemsList), any(LocalDateTime.class));
-        verify(bookingRepository, times(1)).findByItemInAndStartGreaterThanEqualOrderByStartAsc(eq(itemsList), any(LocalDateTime.class));
+        verify(bookingRepository, times(1)).findLastAndNextApprovedBookings(eq(List.of(1L, 2L)), any(LocalDateTime.class));
         verify(commentRepository, times(1)).findByItemIn(itemsList);
     }
 
     @Test
     void searchItemTest() {
         User owner = createUser(1, "Владислав", "vlad@yandex.ru");
-        List<Item> itemsList = List.of(
-                createItem(1, "Шкаф", "Большой шкаф", true, owner, null));
+        List<ItemDto> itemsList = List.of(
+                ItemMapper.toItemDto(createItem(1, "Шкаф", "Большой шкаф", true, owner, null)));
 
         String text = "ШКАФ";
 
-        when(itemRepository.searchItems(eq(text), any(Pageable.class))).thenReturn(itemsList);
+        when(itemSearchEngine.search(eq(text), any(Pageable.class))).thenReturn(itemsList);
 
         List<ItemDto> actualItems = itemServiceImpl.searchItems(text, 0, 5);
 
@@ -359,7 +432,7 @@ public class ItemServiceImplTests {
         assertThat(actualItems.get(0).getDescription(), equalTo(itemsList.get(0).getDescription()));
         assertThat(actualItems.get(0).getAvailable(), equalTo(itemsList.get(0).getAvailable()));
 
-        verify(itemRepository, times(1)).searchItems(eq(text), any(Pageable.class));
+        verify(itemSearchEngine, times(1)).search(eq(text), any(Pageable.class));
     }
 
     @Test
@@ -431,6 +504,28 @@ public class ItemServiceImplTests {
         verify(commentRepository, never()).save(any(Comment.class));
     }
 
+    @Test
+    void findItemAvailabilityForDefaultPeriodTest() {
+        LocalDate today = LocalDate.now();
+
+        itemServiceImpl.findItemAvailability(1, null, null);
+
+        verify(itemAvailabilityCalendar, times(1)).findPeriods(1,
+                today.atStartOfDay(), today.plusDays(90).atStartOfDay());
+    }
+
+    @Test
+    void findItemAvailabilityWithInvalidPeriodTest() {
+        LocalDate from = LocalDate.of(2030, 1, 10);
+
+        assertThrows(ValidationException.class,
+                () -> itemServiceImpl.findItemAvailability(1, from, from.minusDays(1)));
+        assertThrows(ValidationException.class,
+                () -> itemServiceImpl.findItemAvailability(1, from, from.plusDays(367)));
+
+        verify(itemAvailabilityCalendar, never()).findPeriods(anyLong(), any(), any());
+    }
+
     @Test
     void createCommentWhenItemIsNotFoundTest() {
         User user = createUser(2, "Иван", "ivan@yandex.ru");
@@ -501,4 +596,28 @@ public class ItemServiceImplTests {
 
         return booking;
     }
+
+    private ItemBookingView createItemBookingView(Booking booking, boolean nextBooking) {
+        return new ItemBookingView() {
+            @Override
+            public Long getItemId() {
+                return booking.getItem().getId();
+            }
+
+            @Override
+            public Long getId() {
+                return booking.getId();
+            }
+
+            @Override
+            public Long getBookerId() {
+                return booking.getBooker().getId();
+            }
+
+            @Override
+            public Boolean getNextBooking() {
+                return nextBooking;
+            }
+        };
+    }
 }
@@ -7,9 +7,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemResponseDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.service.UserExistenceValidator;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -31,6 +33,8 @@ public class ItemRequestControllerTests {
     private ObjectMapper objectMapper;
     @MockBean
     private ItemRequestService itemRequestService;
+    @MockBean
+    private UserExistenceValidator userExistenceValidator;
 
     @Test
     void createRequestTest() throws Exception {
@@ -56,6 +60,32 @@ public class ItemRequestControllerTests {
         verify(itemRequestService, times(1)).createRequest(eq(userId), any(ItemRequestDto.class));
     }
 
+    @Test
+    void findRequestsByUnknownRequesterTest() throws Exception {
+        long userId = 99;
+
+        doThrow(new NotFoundException("Пользователь не найден!")).when(userExistenceValidator).validate(userId);
+
+        mockMvc.perform(get("/requests")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Пользователь не найден!"));
+
+        verifyNoInteractions(itemRequestService);
+    }
+
+    @Test
+    void findRequestsWithoutUserHeaderTest() throws Exception {
+        mockMvc.perform(get("/requests"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/requests")
+                        .header("X-Sharer-User-Id", "вася"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(userExistenceValidator, itemRequestService);
+    }
+
     @Test
     void findRequestsByRequesterTest() throws Exception {
         long userId = 1;
@@ -86,7 +86,6 @@ public class ItemRequestServiceImplTests {
         List<ItemRequest> itemRequestsList = List.of(itemRequest1, itemRequest2);
         List<Item> itemsList = List.of(item1, item2);
 
-        when(userRepository.findById(requester.getId())).thenReturn(Optional.of(requester));
         when(itemRequestRepository.findByRequesterIdOrderByCreatedDesc(requester.getId())).thenReturn(itemRequestsList);
         when(itemRepository.findByRequestIn(itemRequestsList)).thenReturn(itemsList);
 
@@ -106,7 +105,7 @@ public class ItemRequestServiceImplTests {
 
         assertThat(actualItemRequests.size(), equalTo(2));
 
-        verify(userRepository, times(1)).findById(requester.getId());
+        verifyNoInteractions(userRepository);
         verify(itemRequestRepository, times(1)).findByRequesterIdOrderByCreatedDesc(requester.getId());
         verify(itemRepository, times(1)).findByRequestIn(itemRequestsList);
     }
@@ -125,8 +124,7 @@ public class ItemRequestServiceImplTests {
         List<ItemRequest> itemRequestsList = List.of(itemRequest1, itemRequest2);
         List<Item> itemsList = List.of(item1, item2);
 
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(itemRequestRepository.findByRequesterIdNotOrderByCreatedDesc(eq(owner.getId()), any(Pageable.class))).thenReturn(itemRequestsList);
+        when(itemRequestRepository.findByRequesterIdNotOrderByCreatedDescIdDesc(eq(owner.getId()), any(Pageable.class))).thenReturn(itemRequestsList);
         when(itemRepository.findByRequestIn(itemRequestsList)).thenReturn(itemsList);
 
         List<ItemResponseDto> actualItemRequests = itemRequestServiceImpl.findAllRequests(owner.getId(), 0, 5);
@@ -145,33 +143,11 @@ public class ItemRequestServiceImplTests {
 
         assertThat(actualItemRequests.size(), equalTo(2));
 
-        verify(userRepository, times(1)).findById(owner.getId());
-        verify(itemRequestRepository, times(1)).findByRequesterIdNotOrderByCreatedDesc(eq(owner.getId()), any(Pageable.class));
+        verifyNoInteractions(userRepository);
+        verify(itemRequestRepository, times(1)).findByRequesterIdNotOrderByCreatedDescIdDesc(eq(owner.getId()), any(Pageable.class));
         verify(itemRepository, times(1)).findByRequestIn(itemRequestsList);
     }
 
-    @Test
-    void findRequestsByRequesterWhenRequesterIsNotFoundTest() {
-        long requesterId = 0;
-
-        when(userRepository.findById(requesterId)).thenReturn(Optional.empty());
-
-        assertThrows(NotFoundException.class, () -> itemRequestServiceImpl.findRequestsByRequester(requesterId));
-
-        verify(userRepository, times(1)).findById(requesterId);
-    }
-
-    @Test
-    void findAllRequestsWhenUserIsNotFoundTest() {
-        long userId = 0;
-
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
-
-        assertThrows(NotFoundException.class, () -> itemRequestServiceImpl.findAllRequests(userId, 0, 5));
-
-        verify(userRepository, times(1)).findById(userId);
-    }
-
     @Test
     void findRequestByIdTest() {
         User owner = createUser(1, "Владислав", "vlad@yandex.ru");
@@ -181,7 +157,6 @@ public class ItemRequestServiceImplTests {
 
         Item item = createItem(1, "Шкаф", "Большой шкаф", true, owner, itemRequest);
 
-        when(userRepository.findById(requester.getId())).thenReturn(Optional.of(requester));
         when(itemRequestRepository.findById(itemRequest.getId())).thenReturn(Optional.of(itemRequest));
         when(itemRepository.findByRequestId(itemRequest.getId())).thenReturn(List.of(item));
 
@@ -193,34 +168,21 @@ public class ItemRequestServiceImplTests {
         assertThat(actualItemRequests.getItems().get(0).getName(), equalTo(item.getName()));
         assertThat(actualItemRequests.getItems().size(), equalTo(1));
 
-        verify(userRepository, times(1)).findById(requester.getId());
+        verifyNoInteractions(userRepository);
         verify(itemRequestRepository, times(1)).findById(itemRequest.getId());
         verify(itemRepository, times(1)).findByRequestId(itemRequest.getId());
     }
 
-    @Test
-    void findRequestByIdWhenUserIsNotFoundTest() {
-        long userId = 0;
-        long requestId = 1;
-
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
-
-        assertThrows(NotFoundException.class, () -> itemRequestServiceImpl.findRequestById(userId, requestId));
-
-        verify(userRepository, times(1)).findById(userId);
-    }
-
     @Test
     void findRequestByIdWhenRequestIsNotFoundTest() {
         User user = createUser(1, "Владислав", "vlad@yandex.ru");
         long requestId = 0;
 
-        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(itemRequestRepository.findById(requestId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemRequestServiceImpl.findRequestById(user.getId(), requestId));
 
-        verify(userRepository, times(1)).findById(user.getId());
+        verifyNoInteractions(userRepository);
         verify(itemRequestRepository, times(1)).findById(requestId);
     }
 
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import ru.practicum.shareit.metrics.SqlStatementInterceptor;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Records the SQL statements executed on the current thread over the connections of the data source, including those
+ * sent through {@code JdbcTemplate}. A JDBC batch is recorded once.
+ *
+ * <p>Register it with {@code @Import(SqlStatementRecorder.class)} and wrap the code under test in {@link #start()} and
+ * {@link #stop()}.
+ */
+public class SqlStatementRecorder implements BeanPostProcessor {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    public static void start() {
+        STATEMENTS.set(new ArrayList<>());
+    }
+
+    public static List<String> stop() {
+        List<String> statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements == null ? List.of() : statements;
+    }
+
+    public static void assertAtMost(List<String> statements, int maxStatements) {
+        assertThat(statements)
+                .as("ожидалось не больше %d SQL-запросов, выполнено %d:%n%s", maxStatements, statements.size(),
+                        String.join("\n", statements))
+                .hasSizeLessThanOrEqualTo(maxStatements);
+    }
+
+    public static void assertNoRepeatedSelects(List<String> statements) {
+        Map<String, Long> repeated = statements.stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        repeated.values().removeIf(count -> count == 1);
+        assertThat(repeated).as("один и тот же SELECT выполнен несколько раз (N+1)").isEmpty();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            return SqlStatementInterceptor.intercept((DataSource) bean, SqlStatementRecorder::record);
+        }
+        return bean;
+    }
+
+    private static void record(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+    }
+}
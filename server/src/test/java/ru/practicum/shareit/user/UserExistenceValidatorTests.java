@@ -0,0 +1,61 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceValidator;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserExistenceValidatorTests {
+
+    @Mock
+    private UserRepository userRepository;
+    private UserExistenceValidator userExistenceValidator;
+
+    @BeforeEach
+    void setUp() {
+        userExistenceValidator = new UserExistenceValidator(userRepository, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void validateKnownUserWithoutDatabaseTest() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        userExistenceValidator.validate(1);
+        userExistenceValidator.validate(1);
+        userExistenceValidator.validate(1);
+
+        verify(userRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    void validateUnknownUserIsNotCachedTest() {
+        when(userRepository.existsById(1L)).thenReturn(false, true);
+
+        assertThrows(NotFoundException.class, () -> userExistenceValidator.validate(1));
+        userExistenceValidator.validate(1);
+
+        verify(userRepository, times(2)).existsById(1L);
+    }
+
+    @Test
+    void validateRegisteredAndEvictedUserTest() {
+        userExistenceValidator.register(1);
+        userExistenceValidator.validate(1);
+        verifyNoInteractions(userRepository);
+
+        when(userRepository.existsById(1L)).thenReturn(false);
+        userExistenceValidator.evict(1);
+
+        assertThrows(NotFoundException.class, () -> userExistenceValidator.validate(1));
+    }
+}
@@ -10,6 +10,7 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceValidator;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
 import java.util.List;
@@ -27,6 +28,8 @@ public class UserServiceImplTests {
 
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private UserExistenceValidator userExistenceValidator;
     @InjectMocks
     private UserServiceImpl userServiceImpl;
 
@@ -114,6 +117,7 @@ public class UserServiceImplTests {
         userServiceImpl.deleteUser(id);
 
         verify(userRepository, times(1)).deleteById(id);
+        verify(userExistenceValidator, times(1)).evict(id);
     }
 
     @Test